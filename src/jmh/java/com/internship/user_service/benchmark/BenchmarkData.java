@@ -0,0 +1,56 @@
+package com.internship.user_service.benchmark;
+
+import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.model.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+
+/**
+ * Realistic, fully populated records shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("Name" + id)
+                .surname("Surname" + id)
+                .email("user" + id + "@mail.com")
+                .birthday(LocalDate.of(1990, 1, 1).plusDays(id % 5000))
+                .phone("+38970" + String.format("%06d", id % 1_000_000))
+                .address("Main street " + id)
+                .city("Skopje")
+                .zipCode("1000")
+                .country("Macedonia")
+                .created(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(16, 0))
+                .build();
+    }
+
+    static UserResponse userResponse(long id) {
+        return UserResponse.builder()
+                .id(id)
+                .name("Name" + id)
+                .surname("Surname" + id)
+                .email("user" + id + "@mail.com")
+                .phone("+38970" + String.format("%06d", id % 1_000_000))
+                .address("Main street " + id)
+                .city("Skopje")
+                .zipCode("1000")
+                .country("Macedonia")
+                .profilePicturePath("https://storage.googleapis.com/bucket/pictureUserId_" + id + ".jpg")
+                .profilePictureThumbnailPaths(Map.of(
+                        64, "https://storage.googleapis.com/bucket/pictureUserId_" + id + "_64.jpg",
+                        256, "https://storage.googleapis.com/bucket/pictureUserId_" + id + "_256.jpg"))
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(16, 0))
+                .build();
+    }
+}
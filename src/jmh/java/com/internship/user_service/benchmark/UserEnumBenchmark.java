@@ -0,0 +1,56 @@
+package com.internship.user_service.benchmark;
+
+import com.internship.user_service.enums.JobCategory;
+import com.internship.user_service.enums.UserEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link UserEnum#fromId} with the stream based linear search it replaced, cycling
+ * through all ids so neither variant benefits from always hitting the first constant.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserEnumBenchmark {
+
+    private static final int CATEGORIES = JobCategory.values().length;
+
+    private int next;
+
+    private Integer nextId() {
+        next = next + 1 == CATEGORIES ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public JobCategory fromIdLookup() {
+        return JobCategory.fromId(nextId());
+    }
+
+    @Benchmark
+    public JobCategory fromIdLinearSearch() {
+        return linearSearch(JobCategory.class, nextId());
+    }
+
+    private static <E extends Enum<E> & UserEnum> E linearSearch(Class<E> enumClass, Integer id) {
+        return Arrays.stream(enumClass.getEnumConstants())
+                .filter(enumValue -> Objects.equals(enumValue.getId(), id))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid " + enumClass.getSimpleName() + " id: " + id));
+    }
+}
@@ -0,0 +1,87 @@
+package com.internship.user_service.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.internship.user_service.dto.ExceptionResponse;
+import com.internship.user_service.dto.UserDTO;
+import com.internship.user_service.exception.UserExceptionHandler;
+import com.internship.user_service.exception.UserNotFoundException;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast {@link UserExceptionHandler} turns exceptions into error responses. The
+ * exceptions are created once, so only the response building is measured, and the handler's
+ * logger is turned off to keep console output out of the numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserExceptionHandlerBenchmark {
+
+    private UserExceptionHandler handler;
+    private UserNotFoundException userNotFoundException;
+    private ConstraintViolationException constraintViolationException;
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        ((Logger) LoggerFactory.getLogger(UserExceptionHandler.class)).setLevel(Level.OFF);
+        handler = new UserExceptionHandler();
+
+        userNotFoundException = new UserNotFoundException("User with id 1 not found.");
+
+        // Every mandatory field is missing, as in a request with an empty body
+        UserDTO invalidUser = new UserDTO();
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        constraintViolationException = new ConstraintViolationException(validator.validate(invalidUser));
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(invalidUser, "userDTO");
+        new SpringValidatorAdapter(validator).validate(invalidUser, bindingResult);
+        MethodParameter parameter = new MethodParameter(
+                UserExceptionHandlerBenchmark.class.getDeclaredMethod("createUser", UserDTO.class), 0);
+        methodArgumentNotValidException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @SuppressWarnings("unused")
+    private void createUser(UserDTO userDTO) {
+    }
+
+    @Benchmark
+    public ResponseEntity<ExceptionResponse> userNotFound() {
+        return handler.handleUserNotFoundException(userNotFoundException);
+    }
+
+    @Benchmark
+    public ResponseEntity<ExceptionResponse> constraintViolation() {
+        return handler.handleConstraintViolationException(constraintViolationException);
+    }
+
+    @Benchmark
+    public ResponseEntity<ExceptionResponse> methodArgumentNotValid() {
+        return handler.handleMethodArgumentNotValidException(methodArgumentNotValidException);
+    }
+}
@@ -0,0 +1,56 @@
+package com.internship.user_service.benchmark;
+
+import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.mapper.UserMapper;
+import com.internship.user_service.mapper.UserMapperImpl;
+import com.internship.user_service.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link UserMapper#toUserResponse}, which runs for every user returned by the API, with
+ * and without a profile picture since the picture URLs are the expensive part.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+    private User user;
+    private User userWithPicture;
+
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        ReflectionTestUtils.setField(userMapper, "bucketName", "benchmark-bucket");
+
+        user = BenchmarkData.user(1);
+        userWithPicture = BenchmarkData.user(2);
+        userWithPicture.setProfilePicturePath("pictureUserId_2.jpg");
+    }
+
+    @Benchmark
+    public UserResponse toUserResponse() {
+        return userMapper.toUserResponse(user);
+    }
+
+    @Benchmark
+    public UserResponse toUserResponseWithPicture() {
+        return userMapper.toUserResponse(userWithPicture);
+    }
+}
@@ -0,0 +1,102 @@
+package com.internship.user_service.service.impl;
+
+import com.internship.user_service.dto.WorkerFreeSlotsResponse;
+import com.internship.user_service.repository.projection.WorkerBusySlotView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the availability overlap computation of {@link FreeSlotCalculator} over a week long
+ * window for a growing number of workers and busy slots. It lives in the calculator's package
+ * because the calculator is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FreeSlotCalculatorBenchmark {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 3, 0, 0);
+    private static final LocalDateTime END = START.plusDays(7);
+
+    @Param({"10", "100"})
+    private int workers;
+
+    @Param({"0", "5", "50"})
+    private int busySlotsPerWorker;
+
+    private List<WorkerBusySlotView> rows;
+
+    private record Row(Long workerId, LocalTime workStart, LocalTime workEnd,
+                       LocalDateTime busyStart, LocalDateTime busyEnd) implements WorkerBusySlotView {
+
+        @Override
+        public Long getWorkerId() {
+            return workerId;
+        }
+
+        @Override
+        public LocalTime getWorkStart() {
+            return workStart;
+        }
+
+        @Override
+        public LocalTime getWorkEnd() {
+            return workEnd;
+        }
+
+        @Override
+        public LocalDateTime getBusyStart() {
+            return busyStart;
+        }
+
+        @Override
+        public LocalDateTime getBusyEnd() {
+            return busyEnd;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>();
+        for (long worker = 1; worker <= workers; worker++) {
+            // Every fourth worker has an overnight shift to cover both branches of the calculation
+            LocalTime workStart = worker % 4 == 0 ? LocalTime.of(22, 0) : LocalTime.of(8, 0);
+            LocalTime workEnd = worker % 4 == 0 ? LocalTime.of(6, 0) : LocalTime.of(16, 0);
+
+            if (busySlotsPerWorker == 0) {
+                rows.add(new Row(worker, workStart, workEnd, null, null));
+                continue;
+            }
+
+            // Overlapping busy slots spread over the window, ordered by start like the query returns them
+            long step = (7 * 24 * 60) / busySlotsPerWorker;
+            for (int slot = 0; slot < busySlotsPerWorker; slot++) {
+                LocalDateTime busyStart = START.plusMinutes(slot * step + worker % 30);
+                rows.add(new Row(worker, workStart, workEnd, busyStart, busyStart.plusMinutes(step + 15)));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<WorkerFreeSlotsResponse> calculate() {
+        return FreeSlotCalculator.calculate(rows, START, END);
+    }
+}
@@ -0,0 +1,15 @@
+package com.internship.user_service.loadtest;
+
+/**
+ * Outcome of driving one endpoint, latencies in milliseconds and throughput in requests per second.
+ */
+record EndpointResult(LoadTestEndpoint endpoint,
+                      String description,
+                      long requests,
+                      long errors,
+                      double throughput,
+                      double p50,
+                      double p90,
+                      double p99,
+                      double max) {
+}
@@ -0,0 +1,64 @@
+package com.internship.user_service.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latencies of the requests of one client thread, in nanoseconds. Recorders are merged once the
+ * threads are done, so recording needs no synchronization.
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[16 * 1024];
+    private int count;
+    private long errors;
+
+    void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    /**
+     * Counts a request that did not get any response.
+     */
+    void fail() {
+        errors++;
+    }
+
+    static EndpointResult summarize(LoadTestEndpoint endpoint, List<LatencyRecorder> recorders, long elapsedNanos) {
+        long[] all = new long[recorders.stream().mapToInt(recorder -> recorder.count).sum()];
+        long errors = 0;
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.latencies, 0, all, offset, recorder.count);
+            offset += recorder.count;
+            errors += recorder.errors;
+        }
+        Arrays.sort(all);
+
+        return new EndpointResult(endpoint, endpoint.getDescription(), all.length, errors,
+                all.length / (elapsedNanos / 1e9),
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                all.length == 0 ? 0 : millis(all[all.length - 1]));
+    }
+
+    /**
+     * Nearest rank percentile of the sorted latencies, in milliseconds.
+     */
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return millis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,24 @@
+package com.internship.user_service.loadtest;
+
+import com.internship.user_service.UserServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the service with the {@code loadtest} profile on a random port, runs the load test
+ * against it and exits with a non-zero status if any request failed. Started by
+ * {@code mvn -Ploadtest verify}, see {@code application-loadtest.yaml} for the settings.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(UserServiceApplication.class)
+                .profiles("loadtest")
+                .run(args);
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        boolean succeeded = context.getBean(LoadTestRunner.class).run(port);
+        System.exit(SpringApplication.exit(context, () -> succeeded ? 0 : 1));
+    }
+}
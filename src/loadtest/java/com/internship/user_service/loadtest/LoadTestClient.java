@@ -0,0 +1,94 @@
+package com.internship.user_service.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed loop HTTP client: every thread sends its next request as soon as the previous one is
+ * answered, so the offered load adapts to the service and {@code concurrency} is the number of
+ * requests in flight.
+ */
+@Slf4j
+class LoadTestClient implements AutoCloseable {
+
+    private final LoadTestRequests requests;
+    private final LoadTestProperties.Client properties;
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+
+    LoadTestClient(LoadTestRequests requests, LoadTestProperties.Client properties) {
+        this.requests = requests;
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getRequestTimeout())
+                .build();
+        this.executor = Executors.newFixedThreadPool(properties.getConcurrency());
+    }
+
+    /**
+     * Drives the endpoint for the warmup, whose results are dropped, then for the measured duration.
+     */
+    EndpointResult run(LoadTestEndpoint endpoint) throws InterruptedException {
+        log.info("Driving {} with {} clients.", endpoint.getDescription(), properties.getConcurrency());
+        drive(endpoint, properties.getWarmup());
+
+        long start = System.nanoTime();
+        List<LatencyRecorder> recorders = drive(endpoint, properties.getDuration());
+        return LatencyRecorder.summarize(endpoint, recorders, System.nanoTime() - start);
+    }
+
+    private List<LatencyRecorder> drive(LoadTestEndpoint endpoint, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<LatencyRecorder>> clients = new ArrayList<>();
+        for (int i = 0; i < properties.getConcurrency(); i++) {
+            clients.add(executor.submit(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                while (System.nanoTime() < deadline) {
+                    send(endpoint.request(requests), recorder);
+                }
+                return recorder;
+            }));
+        }
+
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        for (Future<LatencyRecorder> client : clients) {
+            try {
+                recorders.add(client.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load test client of " + endpoint + " failed.", e.getCause());
+            }
+        }
+        return recorders;
+    }
+
+    private void send(HttpRequest request, LatencyRecorder recorder) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            recorder.record(System.nanoTime() - start, response.statusCode() < 400);
+            if (response.statusCode() >= 400) {
+                log.debug("{} answered {}.", request.uri(), response.statusCode());
+            }
+        } catch (IOException e) {
+            log.debug("{} failed: {}", request.uri(), e.getMessage());
+            recorder.fail();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,121 @@
+package com.internship.user_service.loadtest;
+
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+import com.rabbitmq.client.Channel;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.mockito.Mockito;
+import org.springframework.amqp.rabbit.config.AbstractRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replaces the external dependencies of the service for the load test: Cloud Storage with an
+ * in-memory implementation, RabbitMQ with a connection that accepts and drops every message,
+ * and the token authentication with the user id sent in the {@value #USER_ID_HEADER} header.
+ */
+@Profile("loadtest")
+@Configuration
+public class LoadTestConfiguration {
+
+    static final String USER_ID_HEADER = "X-Load-Test-User-Id";
+
+    @Bean
+    public Storage storage() {
+        return LocalStorageHelper.getOptions().getService();
+    }
+
+    /**
+     * Swaps the RabbitMQ connection factory for a no-op one, so the outbox relay publishes into
+     * the void, and keeps the listener containers stopped as there is no broker to consume from.
+     */
+    @Bean
+    public static BeanPostProcessor noOpRabbitPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory) {
+                    return noOpConnectionFactory();
+                }
+                if (bean instanceof AbstractRabbitListenerContainerFactory<?> containerFactory) {
+                    containerFactory.setAutoStartup(false);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static ConnectionFactory noOpConnectionFactory() {
+        // Stub only mocks do not record invocations, which would otherwise grow for the whole run
+        Channel channel = Mockito.mock(Channel.class, Mockito.withSettings().stubOnly());
+        when(channel.isOpen()).thenReturn(true);
+
+        Connection connection = Mockito.mock(Connection.class, Mockito.withSettings().stubOnly());
+        when(connection.isOpen()).thenReturn(true);
+        when(connection.createChannel(anyBoolean())).thenReturn(channel);
+
+        ConnectionFactory connectionFactory = Mockito.mock(ConnectionFactory.class, Mockito.withSettings().stubOnly());
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connectionFactory.getHost()).thenReturn("load-test");
+        return connectionFactory;
+    }
+
+    /**
+     * Takes precedence over the chain of {@link com.internship.user_service.config.SecurityConfig}
+     * and authenticates every request as the user in the {@value #USER_ID_HEADER} header, with the
+     * user id as principal like the tokens of the authentication library.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain loadTestSecurityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .securityMatcher("/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new UserIdHeaderFilter(), AnonymousAuthenticationFilter.class)
+                .authorizeHttpRequests(requests -> requests.anyRequest().authenticated())
+                .build();
+    }
+
+    private static class UserIdHeaderFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            String userId = request.getHeader(USER_ID_HEADER);
+            if (userId != null) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        userId, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.internship.user_service.loadtest;
+
+import com.internship.user_service.dto.BlockCheckRequest;
+import com.internship.user_service.dto.FreeSlotRequest;
+import com.internship.user_service.dto.UserBatchRequest;
+import com.internship.user_service.enums.JobCategory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.http.HttpRequest;
+import java.util.function.Function;
+
+/**
+ * The requests the load test drives, each built for a random seeded user.
+ */
+@RequiredArgsConstructor
+public enum LoadTestEndpoint {
+    GET_USER("GET /v1/users/{id}", requests ->
+            requests.get("/v1/users/" + requests.randomUser())),
+    GET_USERS_BATCH("POST /v1/users/batch", requests ->
+            requests.post("/v1/users/batch", UserBatchRequest.builder().ids(requests.randomUsers(50)).build())),
+    GET_USERS_PAGE("GET /v1/users/listing/page", requests ->
+            requests.get("/v1/users/listing/page?size=50&after=" + requests.randomUser())),
+    GET_FAVORITES("GET /v1/favorites", requests ->
+            requests.get("/v1/favorites?userId=" + requests.randomUser())),
+    GET_FAVORITE_USERS("GET /v1/favorites?expand=users", requests ->
+            requests.get("/v1/favorites?expand=users&userId=" + requests.randomUser())),
+    GET_BLOCKS("GET /v1/blocks/{blockingUserId}", requests ->
+            requests.get("/v1/blocks/" + requests.randomUser())),
+    CHECK_BLOCKS("POST /v1/blocks/{userId}/check", requests ->
+            requests.post("/v1/blocks/" + requests.randomUser() + "/check",
+                    BlockCheckRequest.builder().candidateIds(requests.randomUserSet(100)).build())),
+    GET_PREFERENCES("GET /v1/preferences/{id}", requests ->
+            requests.get("/v1/preferences/" + requests.randomUser())),
+    SEARCH_PREFERENCES("GET /v1/preferences/search", requests ->
+            requests.get("/v1/preferences/search?size=50&category=" + requests.random(JobCategory.values())
+                    + "&after=" + requests.randomUser())),
+    GET_AVAILABILITIES("GET /v1/users/available/{id}", requests ->
+            requests.get("/v1/users/available/" + requests.randomUser())),
+    GET_FREE_SLOTS("POST /v1/users/available/free-slots", requests ->
+            requests.post("/v1/users/available/free-slots", FreeSlotRequest.builder()
+                    .workerIds(requests.randomUserSet(20))
+                    .startTime(requests.getFirstSlot())
+                    .endTime(requests.getFirstSlot().plusDays(3))
+                    .build())),
+    ADD_AVAILABILITY("POST /v1/users/available", requests ->
+            requests.post("/v1/users/available", requests.nextFreeSlot()));
+
+    @Getter
+    private final String description;
+    private final Function<LoadTestRequests, HttpRequest> request;
+
+    HttpRequest request(LoadTestRequests requests) {
+        return request.apply(requests);
+    }
+}
@@ -0,0 +1,48 @@
+package com.internship.user_service.loadtest;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Profile("loadtest")
+@Configuration
+@ConfigurationProperties("loadtest")
+public class LoadTestProperties {
+
+    private Seed seed = new Seed();
+    private Client client = new Client();
+    private Path result = Path.of("target", "loadtest-result.json");
+
+    @Getter
+    @Setter
+    public static class Seed {
+        private int users = 10000;
+        private int favoritesPerUser = 10;
+        private int blocksPerUser = 5;
+        private int availabilitiesPerUser = 10;
+        private int batchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Client {
+        private int concurrency = 32;
+        private Duration warmup = Duration.ofSeconds(10);
+        private Duration duration = Duration.ofSeconds(30);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+
+        /**
+         * The endpoints to drive, all of them when empty.
+         */
+        private List<LoadTestEndpoint> endpoints = new ArrayList<>();
+    }
+}
@@ -0,0 +1,107 @@
+package com.internship.user_service.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.dto.AvailabilityDTO;
+import lombok.Getter;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the requests of {@link LoadTestEndpoint} against the seeded data set. Safe to share
+ * between the client threads.
+ */
+class LoadTestRequests {
+
+    private final URI baseUri;
+    private final int users;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    @Getter
+    private final LocalDateTime firstSlot;
+    private final LocalDateTime firstBooking;
+    private final AtomicLong bookings = new AtomicLong();
+
+    LoadTestRequests(URI baseUri, LoadTestProperties properties, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.users = properties.getSeed().getUsers();
+        this.objectMapper = objectMapper;
+        this.timeout = properties.getClient().getRequestTimeout();
+        this.firstSlot = LoadTestSeeder.firstSlot();
+        this.firstBooking = firstSlot.plusHours(12L * properties.getSeed().getAvailabilitiesPerUser());
+    }
+
+    long randomUser() {
+        return ThreadLocalRandom.current().nextLong(users) + 1;
+    }
+
+    List<Long> randomUsers(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(randomUser());
+        }
+        return ids;
+    }
+
+    /**
+     * Returns a user and the ones following it, so some of them are its favorites or blocks.
+     */
+    Set<Long> randomUserSet(int count) {
+        long first = randomUser();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < Math.min(count, users); i++) {
+            ids.add((first - 1 + i) % users + 1);
+        }
+        return ids;
+    }
+
+    <T> T random(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    /**
+     * Returns a one hour slot after every seeded and previously booked slot of the worker, so
+     * bookings never overlap and the endpoint does the full work of a successful request.
+     */
+    AvailabilityDTO nextFreeSlot() {
+        long booking = bookings.getAndIncrement();
+        LocalDateTime startTime = firstBooking.plusHours(2 * (booking / users));
+        return AvailabilityDTO.builder()
+                .workerId(booking % users + 1)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .build();
+    }
+
+    HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    HttpRequest post(String path, Object body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(timeout)
+                .header(LoadTestConfiguration.USER_ID_HEADER, String.valueOf(randomUser()));
+    }
+}
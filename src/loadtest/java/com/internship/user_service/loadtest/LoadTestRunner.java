@@ -0,0 +1,79 @@
+package com.internship.user_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Seeds the database, drives every configured endpoint one after the other and reports the
+ * latency percentiles and throughput of each, on the console and as JSON in {@code loadtest.result}.
+ */
+@Slf4j
+@Profile("loadtest")
+@Component
+@RequiredArgsConstructor
+public class LoadTestRunner {
+
+    private final LoadTestSeeder seeder;
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+
+    record Report(int users, int concurrency, double durationSeconds, List<EndpointResult> endpoints) {
+    }
+
+    /**
+     * @return {@code true} if every request was answered successfully
+     */
+    public boolean run(int port) throws IOException, InterruptedException {
+        seeder.seed();
+
+        List<LoadTestEndpoint> endpoints = properties.getClient().getEndpoints().isEmpty()
+                ? Arrays.asList(LoadTestEndpoint.values())
+                : properties.getClient().getEndpoints();
+        LoadTestRequests requests = new LoadTestRequests(URI.create("http://localhost:" + port), properties, objectMapper);
+
+        List<EndpointResult> results = new ArrayList<>();
+        try (LoadTestClient client = new LoadTestClient(requests, properties.getClient())) {
+            for (LoadTestEndpoint endpoint : endpoints) {
+                results.add(client.run(endpoint));
+            }
+        }
+
+        Report report = new Report(properties.getSeed().getUsers(), properties.getClient().getConcurrency(),
+                properties.getClient().getDuration().toMillis() / 1000.0, results);
+        print(report);
+        write(report);
+        return results.stream().allMatch(result -> result.errors() == 0);
+    }
+
+    private void print(Report report) {
+        StringBuilder table = new StringBuilder(String.format("%n%-45s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (EndpointResult result : report.endpoints()) {
+            table.append(String.format("%-45s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.description(), result.requests(), result.errors(), result.throughput(),
+                    result.p50(), result.p90(), result.p99(), result.max()));
+        }
+        log.info("Load test of {} users with {} clients for {}s per endpoint:{}",
+                report.users(), report.concurrency(), report.durationSeconds(), table);
+    }
+
+    private void write(Report report) throws IOException {
+        Path result = properties.getResult();
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(result.toFile(), report);
+        log.info("Load test results written to {}.", result.toAbsolutePath());
+    }
+}
@@ -0,0 +1,122 @@
+package com.internship.user_service.loadtest;
+
+import com.internship.user_service.enums.JobCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Fills the database with a deterministic data set of {@code loadtest.seed.users} users, each with
+ * preferences, favorites, blocks and future availabilities. Rows are written with JDBC batches,
+ * so seeding neither goes through the caches nor records user events.
+ */
+@Slf4j
+@Profile("loadtest")
+@Component
+@RequiredArgsConstructor
+public class LoadTestSeeder {
+
+    private static final JobCategory[] CATEGORIES = JobCategory.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestProperties properties;
+
+    public void seed() {
+        LoadTestProperties.Seed seed = properties.getSeed();
+        int users = seed.getUsers();
+        if (seed.getFavoritesPerUser() + seed.getBlocksPerUser() >= users) {
+            throw new IllegalArgumentException("Every user needs more other users than favorites and blocks.");
+        }
+
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        insert("INSERT INTO users (id, name, surname, email, birthday, phone, address, city, zip_code, country, " +
+                "created, start_time, end_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", (id, rows) ->
+                rows.add(new Object[]{id, "Name" + id, "Surname" + id, "user" + id + "@mail.com",
+                        Date.valueOf(LocalDate.of(1970, 1, 1).plusDays(id % 15000)),
+                        String.format("+38970%07d", id), "Main street " + id, "Skopje", "1000", "Macedonia",
+                        Timestamp.valueOf(now), LocalTime.of(8, 0), LocalTime.of(16, 0)}));
+
+        insert("INSERT INTO preferences (id, preferred_distance, preferred_experience, wanted_category_mask) " +
+                "VALUES (?, ?, ?, ?)", (id, rows) ->
+                rows.add(new Object[]{id, 5.0 + id % 50, (int) (id % 10), JobCategory.toMask(wantedCategories(id))}));
+
+        insert("INSERT INTO wanted_categories (preferences_id, category_id) VALUES (?, ?)", (id, rows) ->
+                wantedCategories(id).forEach(category -> rows.add(new Object[]{id, category.getId()})));
+
+        // Favorites and blocks point at the following users, wrapping around, so they never overlap
+        insert("INSERT INTO favorites (user_id, favorite_user_id) VALUES (?, ?)", (id, rows) -> {
+            for (int i = 1; i <= seed.getFavoritesPerUser(); i++) {
+                rows.add(new Object[]{id, otherUser(id, i)});
+            }
+        });
+
+        insert("INSERT INTO blocks (blocking_user_id, blocked_user_id) VALUES (?, ?)", (id, rows) -> {
+            for (int i = 1; i <= seed.getBlocksPerUser(); i++) {
+                rows.add(new Object[]{id, otherUser(id, seed.getFavoritesPerUser() + i)});
+            }
+        });
+
+        // Two hour slots every half day, the client books its slots after all of them
+        LocalDateTime firstSlot = firstSlot();
+        insert("INSERT INTO availabilities (start_time, end_time, user_id) VALUES (?, ?, ?)", (id, rows) -> {
+            for (int i = 0; i < seed.getAvailabilitiesPerUser(); i++) {
+                LocalDateTime slotStart = firstSlot.plusHours(12L * i);
+                rows.add(new Object[]{Timestamp.valueOf(slotStart), Timestamp.valueOf(slotStart.plusHours(2)), id});
+            }
+        });
+
+        log.info("Seeded {} users in {} ms.", users, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * The start of the first seeded availability of every user.
+     */
+    static LocalDateTime firstSlot() {
+        return LocalDate.now().plusDays(1).atTime(9, 0);
+    }
+
+    /**
+     * Every user wants one to three categories, spread evenly over all of them.
+     */
+    static Set<JobCategory> wantedCategories(long userId) {
+        Set<JobCategory> categories = EnumSet.noneOf(JobCategory.class);
+        for (int i = 0; i <= userId % 3; i++) {
+            categories.add(CATEGORIES[(int) ((userId + 5L * i) % CATEGORIES.length)]);
+        }
+        return categories;
+    }
+
+    private long otherUser(long userId, int offset) {
+        return (userId - 1 + offset) % properties.getSeed().getUsers() + 1;
+    }
+
+    private void insert(String sql, BiConsumer<Long, List<Object[]>> rowsOfUser) {
+        int batchSize = properties.getSeed().getBatchSize();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long id = 1; id <= properties.getSeed().getUsers(); id++) {
+            rowsOfUser.accept(id, batch);
+            if (batch.size() >= batchSize) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.internship.user_service.bean;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link org.springframework.core.io.Resource} over a single generation of a Cloud Storage blob.
+ * <p>
+ * Nothing is downloaded until the resource is written, and then it is streamed through a
+ * {@link ReadChannel} with a small fixed chunk size, so the whole blob is never held in memory.
+ * Returned from a controller, Spring MVC serves it with {@code Accept-Ranges} and answers
+ * {@code Range} requests by skipping, which is mapped to a {@link ReadChannel#seek(long)}.
+ */
+public class GcsBlobResource extends AbstractResource {
+
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    private final Storage storage;
+    private final BlobId blobId;
+    private final long size;
+
+    /**
+     * @param storage The storage client.
+     * @param blobId  The blob to read, including its generation.
+     * @param size    The size of the blob in bytes.
+     */
+    public GcsBlobResource(Storage storage, BlobId blobId, long size) {
+        this.storage = storage;
+        this.blobId = blobId;
+        this.size = size;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return size;
+    }
+
+    @Override
+    public String getFilename() {
+        return blobId.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return "GCS blob [" + blobId.toGsUtilUri() + "]";
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        ReadChannel reader = storage.reader(blobId);
+        reader.setChunkSize(CHUNK_SIZE);
+        return new ReadChannelInputStream(reader, size);
+    }
+
+    private static final class ReadChannelInputStream extends InputStream {
+
+        private final ReadChannel reader;
+        private final long size;
+        private long position;
+
+        private ReadChannelInputStream(ReadChannel reader, long size) {
+            this.reader = reader;
+            this.size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+
+            int read;
+            do {
+                read = reader.read(ByteBuffer.wrap(buffer, offset, length));
+            } while (read == 0);
+
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = Math.min(n, size - position);
+            if (skipped <= 0) {
+                return 0;
+            }
+
+            position += skipped;
+            reader.seek(position);
+            return skipped;
+        }
+
+        @Override
+        public void close() {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.internship.user_service.cache;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import com.internship.user_service.bean.GcsBlobResource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Two-level cache of profile pictures in front of Cloud Storage, keyed by object name.
+ * <p>
+ * Pictures are downloaded once into a size-capped directory on local disk and served from there.
+ * Small pictures are additionally kept on the heap, up to a total byte budget. Both tiers evict
+ * the least recently used pictures first, and entries expire after a fixed time so changes made
+ * by other instances are picked up.
+ * <p>
+ * Writers call {@link #invalidate(String)} after changing or deleting a picture. A download that
+ * overlaps an invalidation is discarded, so a replaced picture is never cached. Pictures served
+ * from disk are only opened when their content is read, so a response that is answered from the
+ * ETag alone holds no file open. If the file was deleted by an invalidation or eviction in the
+ * meantime, the version it was downloaded from is streamed from storage instead.
+ * <p>
+ * Files are kept in a {@value #SUBDIRECTORY} subdirectory of the configured directory, and only
+ * files named like the ones the cache writes are ever deleted from it.
+ */
+@Slf4j
+@Component
+public class ProfilePictureCache {
+
+    /**
+     * A cached picture together with the ETag of the stored version it was read from.
+     */
+    public record CachedPicture(Resource image, String etag) {
+    }
+
+    static final String SUBDIRECTORY = "profile-picture-cache";
+
+    private static final String FILE_PREFIX = "picture-";
+    private static final String FILE_GLOB = FILE_PREFIX + "*.{tmp,img}";
+
+    private record Entry(String etag, long size, Path file, BlobId blobId, Instant expiresAt) {
+    }
+
+    private final Storage storage;
+    private final boolean enabled;
+    private final Path directory;
+    private final long heapMaxBytes;
+    private final long heapMaxEntryBytes;
+    private final long diskMaxBytes;
+    private final long diskMaxEntryBytes;
+    private final Duration expireAfter;
+
+    private final LinkedHashMap<String, Entry> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, byte[]> heapEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes;
+    private long heapBytes;
+    private long version;
+
+    public ProfilePictureCache(Storage storage,
+                               @Value("${configs.pictures.cache.enabled:true}") boolean enabled,
+                               @Value("${configs.pictures.cache.directory:${java.io.tmpdir}/user-service-pictures}") Path directory,
+                               @Value("${configs.pictures.cache.heap-max-size:16MB}") DataSize heapMaxSize,
+                               @Value("${configs.pictures.cache.heap-max-entry-size:256KB}") DataSize heapMaxEntrySize,
+                               @Value("${configs.pictures.cache.disk-max-size:128MB}") DataSize diskMaxSize,
+                               @Value("${configs.pictures.cache.disk-max-entry-size:5MB}") DataSize diskMaxEntrySize,
+                               @Value("${configs.pictures.cache.expire-after:10m}") Duration expireAfter) {
+        this.storage = storage;
+        this.enabled = enabled;
+        this.directory = directory.resolve(SUBDIRECTORY);
+        this.heapMaxBytes = heapMaxSize.toBytes();
+        this.heapMaxEntryBytes = heapMaxEntrySize.toBytes();
+        this.diskMaxBytes = diskMaxSize.toBytes();
+        this.diskMaxEntryBytes = diskMaxEntrySize.toBytes();
+        this.expireAfter = expireAfter;
+
+        if (enabled) {
+            prepareDirectory();
+        }
+    }
+
+    /**
+     * Returns the cached picture with the given object name, if present and not expired.
+     */
+    public Optional<CachedPicture> get(String name) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Entry entry;
+        byte[] content;
+        FileChannel channel = null;
+        synchronized (this) {
+            entry = diskEntries.get(name);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (!Instant.now().isBefore(entry.expiresAt())) {
+                removeEntry(name);
+                return Optional.empty();
+            }
+
+            content = heapEntries.get(name);
+            if (content == null && entry.size() <= heapMaxEntryBytes) {
+                // Opened under the lock, so the file can not be deleted before it is read into the heap
+                try {
+                    channel = FileChannel.open(entry.file(), StandardOpenOption.READ);
+                } catch (IOException e) {
+                    log.warn("Could not open cached profile picture {} on local disk.", name, e);
+                    removeEntry(name);
+                    return Optional.empty();
+                }
+            }
+        }
+
+        if (channel != null) {
+            content = promote(name, entry, channel);
+        }
+
+        Resource image = content != null ? new ByteArrayResource(content) : new CachedFileResource(storage, entry);
+        return Optional.of(new CachedPicture(image, entry.etag()));
+    }
+
+    /**
+     * Downloads the given version of a picture into the cache and returns it.
+     * <p>
+     * Returns an empty result when the cache is disabled, the picture is too large to be cached or
+     * it was invalidated during the download, in which case the caller streams it from storage directly.
+     *
+     * @param name    The object name of the picture.
+     * @param blobId  The blob to download, pinned to the version the ETag belongs to.
+     * @param etag    The ETag of that version.
+     * @param size    The size of the picture in bytes.
+     * @return The cached picture, or an empty result if it was not cached.
+     */
+    public Optional<CachedPicture> load(String name, BlobId blobId, String etag, long size) {
+        if (!enabled || size > diskMaxEntryBytes || size > diskMaxBytes) {
+            return Optional.empty();
+        }
+
+        long loadVersion;
+        synchronized (this) {
+            loadVersion = version;
+        }
+
+        Path file;
+        try {
+            file = download(blobId, size);
+        } catch (IOException e) {
+            log.error("Could not cache profile picture {} on local disk.", name, e);
+            return Optional.empty();
+        }
+
+        synchronized (this) {
+            if (version != loadVersion) {
+                deleteFile(file);
+                return Optional.empty();
+            }
+
+            removeEntry(name);
+            diskEntries.put(name, new Entry(etag, size, file, blobId, Instant.now().plus(expireAfter)));
+            diskBytes += size;
+            evictDisk();
+        }
+
+        return get(name);
+    }
+
+    /**
+     * Removes the picture with the given object name from both tiers.
+     */
+    public void invalidate(String name) {
+        if (!enabled || name == null) {
+            return;
+        }
+
+        synchronized (this) {
+            version++;
+            removeEntry(name);
+        }
+    }
+
+    /**
+     * Returns the number of pictures currently cached on disk.
+     */
+    public synchronized int size() {
+        return diskEntries.size();
+    }
+
+    /**
+     * Returns the number of pictures currently cached on the heap.
+     */
+    public synchronized int heapSize() {
+        return heapEntries.size();
+    }
+
+    private Path download(BlobId blobId, long size) throws IOException {
+        Path file = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+        try (ReadChannel reader = storage.reader(blobId);
+             FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while (position < size && (transferred = channel.transferFrom(reader, position, size - position)) > 0) {
+                position += transferred;
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteFile(file);
+            throw e instanceof IOException ioException ? ioException : new IOException(e);
+        }
+
+        Path target = file.resolveSibling(file.getFileName().toString().replace(".tmp", ".img"));
+        return Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the picture from its open file into the heap tier, and closes the file.
+     */
+    private byte[] promote(String name, Entry entry, FileChannel channel) {
+        byte[] content;
+        try (channel) {
+            content = new byte[Math.toIntExact(entry.size())];
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+                // read until the buffer is full
+            }
+        } catch (IOException e) {
+            log.warn("Could not read cached profile picture {} from local disk.", name, e);
+            return null;
+        }
+
+        synchronized (this) {
+            if (diskEntries.get(name) == entry && !heapEntries.containsKey(name)) {
+                heapEntries.put(name, content);
+                heapBytes += content.length;
+                evictHeap();
+            }
+        }
+        return content;
+    }
+
+    private void removeEntry(String name) {
+        Entry entry = diskEntries.remove(name);
+        if (entry != null) {
+            diskBytes -= entry.size();
+            deleteFile(entry.file());
+        }
+
+        byte[] content = heapEntries.remove(name);
+        if (content != null) {
+            heapBytes -= content.length;
+        }
+    }
+
+    private void evictDisk() {
+        Iterator<Map.Entry<String, Entry>> eldest = diskEntries.entrySet().iterator();
+        while (diskBytes > diskMaxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            eldest.remove();
+            diskBytes -= evicted.getValue().size();
+            deleteFile(evicted.getValue().file());
+
+            byte[] content = heapEntries.remove(evicted.getKey());
+            if (content != null) {
+                heapBytes -= content.length;
+            }
+        }
+    }
+
+    private void evictHeap() {
+        Iterator<Map.Entry<String, byte[]>> eldest = heapEntries.entrySet().iterator();
+        while (heapBytes > heapMaxBytes && eldest.hasNext()) {
+            heapBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+
+            // Files left by a previous run are not indexed, only delete the ones this cache writes
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_GLOB)) {
+                for (Path file : files) {
+                    if (Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+                        deleteFile(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare profile picture cache directory " + directory, e);
+        }
+    }
+
+    private static void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete cached profile picture file {}.", file, e);
+        }
+    }
+
+    /**
+     * Resource over a cached picture file, which is only opened when the content is read. If the file
+     * has been deleted by then, the blob version it was downloaded from is read from storage instead.
+     */
+    static final class CachedFileResource extends AbstractResource {
+
+        private final Storage storage;
+        private final Entry entry;
+
+        private CachedFileResource(Storage storage, Entry entry) {
+            this.storage = storage;
+            this.entry = entry;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return entry.size();
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached profile picture [" + entry.file() + "]";
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            try {
+                return Files.newInputStream(entry.file());
+            } catch (NoSuchFileException e) {
+                return new GcsBlobResource(storage, entry.blobId(), entry.size()).getInputStream();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.internship.user_service.cache;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Holds the optional in-process indexes of block and favorite relationships.
+ * <p>
+ * Disabled by default; when disabled every check goes straight to the database. Every instance
+ * only sees its own writes, so with several instances a relationship changed through another
+ * instance is picked up at the latest {@code expire-after} later.
+ */
+@Getter
+@Component
+public class RelationshipIndex {
+
+    private final UserIdSetIndex blocks;
+    private final UserIdSetIndex favorites;
+
+    public RelationshipIndex(@Value("${configs.relationships.index.enabled:false}") boolean enabled,
+                             @Value("${configs.relationships.index.max-users:10000}") int maxUsers,
+                             @Value("${configs.relationships.index.max-ids-per-user:1000}") int maxIdsPerUser,
+                             @Value("${configs.relationships.index.expire-after:1m}") Duration expireAfter) {
+        this.blocks = new UserIdSetIndex(enabled, maxUsers, maxIdsPerUser, expireAfter);
+        this.favorites = new UserIdSetIndex(enabled, maxUsers, maxIdsPerUser, expireAfter);
+    }
+}
@@ -0,0 +1,174 @@
+package com.internship.user_service.cache;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+
+/**
+ * In-process index of one kind of relationship between users (for example the users blocked by a
+ * user), holding the related IDs of each user as a sorted {@code long[]}, so a membership check is
+ * a binary search instead of a database round trip.
+ * <p>
+ * Memory is bounded by {@code maxUsers * maxIdsPerUser} IDs: the least recently used users are
+ * evicted once {@code maxUsers} is exceeded, and users with more than {@code maxIdsPerUser}
+ * related IDs are not indexed and always checked against the database.
+ * <p>
+ * The index is kept in sync by the write paths through {@link #recordAdded(Long, Long)} and
+ * {@link #recordRemoved(Long, Long)}, which are applied after the surrounding transaction commits.
+ * A load that overlaps a write is discarded, so a stale set is never stored. Writes made by other
+ * instances of the service are not seen, so every user is loaded again {@code expireAfter} after
+ * it was loaded, which bounds how long such a write can be missed.
+ */
+public class UserIdSetIndex {
+
+    private static final long[] NOT_INDEXED = new long[0];
+
+    private final boolean enabled;
+    private final int maxIdsPerUser;
+    private final Duration expireAfter;
+    private final Map<Long, Entry> idsByUser;
+    private long version;
+
+    private record Entry(long[] ids, Instant expiresAt) {
+    }
+
+    public UserIdSetIndex(boolean enabled, int maxUsers, int maxIdsPerUser, Duration expireAfter) {
+        this.enabled = enabled;
+        this.maxIdsPerUser = maxIdsPerUser;
+        this.expireAfter = expireAfter;
+        this.idsByUser = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Checks whether {@code relatedId} is related to {@code userId}.
+     * <p>
+     * If the user is not indexed yet, or was loaded more than {@code expireAfter} ago, its related
+     * IDs are loaded with {@code loader}, limited to one more than {@code maxIdsPerUser}. When the
+     * index is disabled or the user has too many related IDs, {@code fallback} is used instead.
+     *
+     * @param userId    The ID of the user whose relationships are checked.
+     * @param relatedId The ID of the related user.
+     * @param loader    Loads the related IDs of the user from the database.
+     * @param fallback  Checks the single relationship against the database.
+     * @return {@code true} if the relationship exists, {@code false} otherwise.
+     */
+    public boolean contains(Long userId, Long relatedId, BiFunction<Long, Limit, List<Long>> loader, BooleanSupplier fallback) {
+        if (!enabled || userId == null || relatedId == null) {
+            return fallback.getAsBoolean();
+        }
+
+        long[] ids = null;
+        long loadVersion;
+        synchronized (this) {
+            Entry entry = idsByUser.get(userId);
+            if (entry != null && entry.expiresAt().isAfter(Instant.now())) {
+                ids = entry.ids();
+            }
+            loadVersion = version;
+        }
+
+        if (ids == null) {
+            ids = toSortedArray(loader.apply(userId, Limit.of(maxIdsPerUser + 1)));
+            synchronized (this) {
+                if (version == loadVersion) {
+                    idsByUser.put(userId, new Entry(ids, Instant.now().plus(expireAfter)));
+                }
+            }
+        }
+
+        if (ids == NOT_INDEXED) {
+            return fallback.getAsBoolean();
+        }
+        return Arrays.binarySearch(ids, relatedId) >= 0;
+    }
+
+    /**
+     * Records that {@code relatedId} was related to {@code userId}, once the current transaction commits.
+     */
+    public void recordAdded(Long userId, Long relatedId) {
+        if (enabled) {
+            afterCommit(() -> update(userId, relatedId, true));
+        }
+    }
+
+    /**
+     * Records that {@code relatedId} is no longer related to {@code userId}, once the current transaction commits.
+     */
+    public void recordRemoved(Long userId, Long relatedId) {
+        if (enabled) {
+            afterCommit(() -> update(userId, relatedId, false));
+        }
+    }
+
+    /**
+     * Returns the number of users currently held by the index.
+     */
+    public synchronized int size() {
+        return idsByUser.size();
+    }
+
+    private synchronized void update(Long userId, Long relatedId, boolean add) {
+        version++;
+
+        Entry entry = idsByUser.get(userId);
+        if (entry == null || entry.ids() == NOT_INDEXED) {
+            return;
+        }
+
+        long[] ids = entry.ids();
+
+        int position = Arrays.binarySearch(ids, relatedId);
+        if (add && position < 0) {
+            if (ids.length >= maxIdsPerUser) {
+                idsByUser.put(userId, new Entry(NOT_INDEXED, entry.expiresAt()));
+                return;
+            }
+            int insertAt = -position - 1;
+            long[] updated = new long[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = relatedId;
+            System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+            idsByUser.put(userId, new Entry(updated, entry.expiresAt()));
+        } else if (!add && position >= 0) {
+            long[] updated = new long[ids.length - 1];
+            System.arraycopy(ids, 0, updated, 0, position);
+            System.arraycopy(ids, position + 1, updated, position, ids.length - position - 1);
+            idsByUser.put(userId, new Entry(updated, entry.expiresAt()));
+        }
+    }
+
+    private long[] toSortedArray(List<Long> relatedIds) {
+        if (relatedIds.size() > maxIdsPerUser) {
+            return NOT_INDEXED;
+        }
+        return relatedIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package com.internship.user_service.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Enables the annotation driven in-process caches. The caches themselves (names, size,
+ * TTL) are configured under {@code spring.cache} and their hit/miss/eviction statistics
+ * are published to the Micrometer registry by the actuator.
+ * <p>
+ * The cache advice runs outside the transactional one, so entries are evicted only after
+ * the transaction that changed them has committed.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+}
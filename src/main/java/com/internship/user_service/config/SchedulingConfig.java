@@ -0,0 +1,12 @@
+package com.internship.user_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the {@code @Scheduled} background workers, such as the storage cleanup.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
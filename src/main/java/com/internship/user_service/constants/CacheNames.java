@@ -0,0 +1,17 @@
+package com.internship.user_service.constants;
+
+public class CacheNames {
+
+    public static final String USERS = "users";
+
+    public static final String PREFERENCES = "preferences";
+
+    /**
+     * Cache key expression resolving to the ID of the currently authenticated user.
+     */
+    public static final String AUTHENTICATED_USER_ID_KEY =
+            "T(java.lang.Long).valueOf(T(org.springframework.security.core.context.SecurityContextHolder)" +
+            ".getContext().getAuthentication().getPrincipal())";
+
+    private CacheNames() {}
+}
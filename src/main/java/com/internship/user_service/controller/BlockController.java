@@ -1,11 +1,14 @@
 package com.internship.user_service.controller;
 
+import com.internship.user_service.dto.BlockCheckRequest;
 import com.internship.user_service.service.BlockService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/v1/blocks")
@@ -41,6 +44,20 @@ public class BlockController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Returns the candidates that have a block relationship with the user with the given
+     * {@code userId} in either direction, so they can be filtered out of search results.
+     *
+     * @param userId  The ID of the user for whom the candidates are checked.
+     * @param request The IDs of the candidate users.
+     * @return The IDs of the blocked candidates.
+     */
+    @PostMapping("/{userId}/check")
+    public ResponseEntity<Set<Long>> getBlockedCandidates(@PathVariable Long userId,
+                                                         @RequestBody @Valid BlockCheckRequest request) {
+        return ResponseEntity.ok(blockService.getBlockedCandidates(userId, request.getCandidateIds()));
+    }
+
     @GetMapping("/{blockingUserId}")
     public ResponseEntity<List<Long>> getBlockedUsersByUserId(
             @PathVariable Long blockingUserId,
@@ -0,0 +1,37 @@
+package com.internship.user_service.controller;
+
+import com.internship.user_service.dto.ExportStatusResponse;
+import com.internship.user_service.service.UserExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/exports")
+public class ExportController {
+
+    private final UserExportService userExportService;
+
+    /**
+     * Starts a background export of the user tables into gzip compressed newline delimited JSON files.
+     *
+     * @param resume Whether to continue the previous export from its last checkpoint.
+     * @return The status of the started export.
+     */
+    @PostMapping
+    public ResponseEntity<ExportStatusResponse> startExport(@RequestParam(defaultValue = "false") boolean resume) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(userExportService.startExport(resume));
+    }
+
+    /**
+     * Returns the status and per table progress of the running or last export.
+     *
+     * @return The export status.
+     */
+    @GetMapping
+    public ResponseEntity<ExportStatusResponse> getStatus() {
+        return ResponseEntity.ok(userExportService.getStatus());
+    }
+}
@@ -12,23 +12,33 @@ import java.util.List;
 @RequestMapping("/v1/favorites")
 @RequiredArgsConstructor
 public class FavoriteController {
+    private static final String EXPAND_USERS = "users";
+
     private final FavoriteService favoriteService;
 
     /**
      * Returns a list of IDs of users who are favorites of the user with the given
-     * {@code userId}.
+     * {@code userId}, or the users themselves when {@code expand=users} is given.
      *
      * @param userId     The ID of the user whose favorite users are to be retrieved.
      * @param page       The page number.
      * @param pageSize   The page size.
-     * @return A list of user IDs.
+     * @param expand     {@code users} to return the favorite users instead of their IDs.
+     * @return A list of user IDs, or a list of users if expanded.
      */
     @GetMapping
-    public ResponseEntity<List<Long>> getFavoriteUsers(
+    public ResponseEntity<List<?>> getFavoriteUsers(
             @RequestParam Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int pageSize) {
-        return ResponseEntity.ok(favoriteService.getFavoriteUsers(userId, page, pageSize));
+            @RequestParam(defaultValue = "10") int pageSize,
+            @RequestParam(required = false) String expand) {
+        if (expand == null) {
+            return ResponseEntity.ok(favoriteService.getFavoriteUsers(userId, page, pageSize));
+        }
+        if (!EXPAND_USERS.equals(expand)) {
+            throw new IllegalArgumentException("Unsupported expand value: " + expand);
+        }
+        return ResponseEntity.ok(favoriteService.getFavoriteUserDetails(userId, page, pageSize));
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.internship.user_service.controller;
 
 import com.internship.user_service.dto.PreferencesDTO;
+import com.internship.user_service.dto.PreferencesPageResponse;
+import com.internship.user_service.enums.JobCategory;
 import com.internship.user_service.service.PreferenceService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -47,4 +49,23 @@ public class PreferencesController {
     public ResponseEntity<PreferencesDTO> getPreferences(@PathVariable Long userId) {
         return ResponseEntity.status(HttpStatus.OK).body(preferenceService.getPreferences(userId));
     }
+
+    /**
+     * Returns one page of the preferences that include the given category, ordered by user ID.
+     *
+     * @param category      The wanted category.
+     * @param maxDistance   The largest preferred distance to include, omitted for any.
+     * @param minExperience The smallest preferred experience to include, omitted for any.
+     * @param after         The ID of the last user of the previous page, omitted for the first page.
+     * @param size          The page size, omitted for the configured default.
+     * @return The page of preferences and the cursor for the next page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<PreferencesPageResponse> searchPreferences(@RequestParam JobCategory category,
+                                                                     @RequestParam(required = false) Double maxDistance,
+                                                                     @RequestParam(required = false) Integer minExperience,
+                                                                     @RequestParam(required = false) Long after,
+                                                                     @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(preferenceService.searchPreferences(category, maxDistance, minExperience, after, size));
+    }
 }
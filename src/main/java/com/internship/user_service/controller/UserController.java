@@ -1,21 +1,37 @@
 package com.internship.user_service.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.internship.user_service.dto.AvailabilityDTO;
+import com.internship.user_service.dto.FreeSlotRequest;
 import com.internship.user_service.dto.ImageDTO;
+import com.internship.user_service.dto.UserBatchRequest;
+import com.internship.user_service.dto.UserBatchResponse;
 import com.internship.user_service.dto.UserDTO;
+import com.internship.user_service.dto.UserImportResponse;
+import com.internship.user_service.dto.UserPageResponse;
 import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.dto.FreeSlotsResponse;
 import com.internship.user_service.dto.WorkingHoursRequest;
 import com.internship.user_service.model.Availability;
+import com.internship.user_service.enums.ImportFormat;
+import com.internship.user_service.enums.ImportMode;
+import com.internship.user_service.enums.PictureSize;
+import com.internship.user_service.service.UserImportService;
 import com.internship.user_service.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -24,6 +40,8 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new user based on the given {@link UserDTO}.
@@ -36,6 +54,22 @@ public class UserController {
         return new ResponseEntity<>(userResponse, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports users from a newline delimited JSON or CSV request body, depending on its content type.
+     * Records are validated and written in batches while the body is read, so invalid or rejected
+     * records are reported without aborting the import.
+     * @param input The request body
+     * @param contentType The content type of the request body
+     * @param mode Whether existing users are skipped or overwritten
+     * @return The import counters and the errors of the failed records
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ImportFormat.TEXT_CSV_VALUE})
+    public ResponseEntity<UserImportResponse> importUsers(InputStream input,
+                                                          @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                          @RequestParam(defaultValue = "SKIP") ImportMode mode) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(input, ImportFormat.fromMediaType(contentType), mode));
+    }
+
     /**
      * Updates the user with given {@code id} by adding the given {@link MultipartFile} as a profile picture.
      * @param id The id of the user
@@ -60,19 +94,22 @@ public class UserController {
     }
 
     /**
-     * Returns the profile picture of the user with the given {@code id}.
+     * Returns the profile picture of the user with the given {@code id}, streamed from storage.
+     * Supports conditional requests through {@code If-None-Match} and partial requests through {@code Range}.
      * @param id The id of the user
+     * @param size The thumbnail size in pixels, or none for the original picture
      * @return The profile picture
      */
     @GetMapping("/{id}/getProfilePicture")
-    public ResponseEntity<byte[]> getProfilePicture(@PathVariable Long id) {
-        ImageDTO imageDTO = userService.getProfilePicture(id);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(imageDTO.mediaType);
-        headers.setContentLength(imageDTO.image.length);
-
-        return new ResponseEntity<>(imageDTO.image, headers, HttpStatus.OK);
+    public ResponseEntity<Resource> getProfilePicture(@PathVariable Long id,
+                                                      @RequestParam(required = false) Integer size) {
+        ImageDTO imageDTO = userService.getProfilePicture(id, PictureSize.fromPixels(size));
+
+        // Spring answers If-None-Match with 304 and Range with 206 for Resource bodies
+        return ResponseEntity.ok()
+                .contentType(imageDTO.mediaType)
+                .eTag(imageDTO.etag)
+                .body(imageDTO.image);
     }
 
     /**
@@ -86,8 +123,22 @@ public class UserController {
         return new ResponseEntity<>(userResponse, HttpStatus.OK);
     }
 
+    /**
+     * Returns the users with the given ids in the requested order, along with the ids
+     * that do not belong to any user.
+     * @param request The ids of the users
+     * @return The found users and the missing ids
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<UserBatchResponse> getUsers(@RequestBody @Valid UserBatchRequest request) {
+        return ResponseEntity.ok(userService.getUsers(request.getIds()));
+    }
+
     /**
      * Returns all users.
+     * <p>
+     * Loads the whole table into memory, use {@link #getUsersPage(Long, Integer)} or
+     * {@link #streamUsers()} instead for large data sets.
      * @return A list of all users
      */
     @GetMapping
@@ -96,6 +147,37 @@ public class UserController {
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
+    /**
+     * Returns one page of users ordered by id.
+     * @param after The id of the last user of the previous page, omitted for the first page
+     * @param size The page size, omitted for the configured default
+     * @return The page of users and the cursor for the next page
+     */
+    @GetMapping("/listing/page")
+    public ResponseEntity<UserPageResponse> getUsersPage(@RequestParam(required = false) Long after,
+                                                         @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userService.getUsersPage(after, size));
+    }
+
+    /**
+     * Streams all users ordered by id as newline delimited JSON.
+     * @return The response body writing one user per line
+     */
+    @GetMapping(value = "/listing/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        StreamingResponseBody body = outputStream -> userService.streamAllUsers(user -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(user));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Returns all availabilities for the user with given {@code id}.
      * @param userId The id of the user
@@ -119,6 +201,17 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Returns the free intervals of the requested workers within the requested time window.
+     *
+     * @param request The worker IDs and the time window.
+     * @return The free intervals per worker, and the IDs of the requested workers that do not exist.
+     */
+    @PostMapping("/available/free-slots")
+    public ResponseEntity<FreeSlotsResponse> getFreeSlots(@RequestBody @Valid FreeSlotRequest request) {
+        return ResponseEntity.ok(userService.getFreeSlots(request));
+    }
+
     /**
      * Deletes the user with the given {@code id}.
      * @param id The id of the user
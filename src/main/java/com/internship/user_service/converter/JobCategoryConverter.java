@@ -0,0 +1,26 @@
+package com.internship.user_service.converter;
+
+import com.internship.user_service.enums.JobCategory;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Persists a {@link JobCategory} by its stable id, so reordering or inserting categories does not
+ * change the meaning of stored rows the way it would with the ordinal.
+ * <p>
+ * JPA does not allow converters on the attributes of embedded ids, so ids that contain a category
+ * store its id as an {@code Integer} instead, see {@link com.internship.user_service.model.WantedCategoryId}.
+ */
+@Converter
+public class JobCategoryConverter implements AttributeConverter<JobCategory, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(JobCategory category) {
+        return category == null ? null : category.getId();
+    }
+
+    @Override
+    public JobCategory convertToEntityAttribute(Integer id) {
+        return id == null ? null : JobCategory.fromId(id);
+    }
+}
@@ -0,0 +1,23 @@
+package com.internship.user_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlockCheckRequest {
+
+    public static final int MAX_CANDIDATES = 1000;
+
+    @NotNull(message = "Candidate ids are mandatory.")
+    @Size(max = MAX_CANDIDATES, message = "At most {max} candidates can be checked at once.")
+    private Set<@NotNull(message = "Candidate id cannot be null.") Long> candidateIds;
+}
@@ -0,0 +1,46 @@
+package com.internship.user_service.dto;
+
+import com.internship.user_service.enums.ExportState;
+import com.internship.user_service.enums.ExportTable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportStatusResponse {
+
+    private ExportState state;
+
+    /**
+     * The directory the export files are written to, on the disk of the instance running the export.
+     */
+    private String directory;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    /**
+     * The reason of the failure, when the export failed.
+     */
+    private String error;
+
+    private List<TableProgress> tables;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TableProgress {
+        private ExportTable table;
+        private String file;
+        private long rows;
+        private boolean completed;
+    }
+}
@@ -0,0 +1,33 @@
+package com.internship.user_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotRequest {
+
+    public static final int MAX_WORKERS = 200;
+    public static final Duration MAX_WINDOW = Duration.ofDays(31);
+
+    @NotEmpty(message = "At least one worker id is mandatory.")
+    @Size(max = MAX_WORKERS, message = "At most {max} workers can be checked at once.")
+    private Set<@NotNull(message = "Worker id cannot be null.") Long> workerIds;
+
+    @NotNull(message = "Enter a valid start time!")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "Enter a valid end time!")
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,25 @@
+package com.internship.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotsResponse {
+
+    /**
+     * The free intervals of the found workers, ordered by worker id.
+     */
+    private List<WorkerFreeSlotsResponse> workers;
+
+    /**
+     * The requested worker ids for which no user exists, in ascending order.
+     */
+    private List<Long> missingIds;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 
 @Data
@@ -12,7 +13,15 @@ import org.springframework.http.MediaType;
 @AllArgsConstructor
 public class ImageDTO {
 
-    public byte[] image;
+    /**
+     * The image content, streamed from storage only when it is written to the response.
+     */
+    public Resource image;
 
     public MediaType mediaType;
+
+    /**
+     * Identifies the stored version of the image, derived from the blob's generation and MD5 hash.
+     */
+    public String etag;
 }
@@ -0,0 +1,22 @@
+package com.internship.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreferencesPageResponse {
+
+    private List<PreferencesDTO> preferences;
+
+    /**
+     * User id to pass as {@code after} to fetch the next page, or {@code null} if this is the last page.
+     */
+    private Long nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.internship.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSlotDTO {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,24 @@
+package com.internship.user_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "At least one user id is mandatory.")
+    @Size(max = MAX_IDS, message = "At most {max} user ids can be requested at once.")
+    private List<@NotNull(message = "User id cannot be null.") Long> ids;
+}
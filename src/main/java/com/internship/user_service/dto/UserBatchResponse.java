@@ -0,0 +1,25 @@
+package com.internship.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchResponse {
+
+    /**
+     * The found users, in the order their ids were requested.
+     */
+    private List<UserResponse> users;
+
+    /**
+     * The requested ids for which no user exists, in the order they were requested.
+     */
+    private List<Long> missingIds;
+}
@@ -0,0 +1,48 @@
+package com.internship.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+
+    /**
+     * The number of non-blank records read.
+     */
+    private long received;
+
+    /**
+     * The number of users that were created, or created or overwritten when upserting.
+     */
+    private long imported;
+
+    /**
+     * The number of records skipped because the user already exists.
+     */
+    private long skipped;
+
+    /**
+     * The number of records that could not be parsed, failed validation or were rejected by the database.
+     */
+    private long failed;
+
+    /**
+     * The first failed records with their line number and reason, capped by {@code configs.users.import.max-reported-errors}.
+     */
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.time.LocalTime;
+import java.util.Map;
 
 @Setter
 @Getter
@@ -51,6 +52,11 @@ public class UserResponse {
 
     private String profilePicturePath;
 
+    /**
+     * URLs of the profile picture thumbnails, keyed by their size in pixels.
+     */
+    private Map<Integer, String> profilePictureThumbnailPaths;
+
     private LocalTime startTime;
 
     private LocalTime endTime;
@@ -0,0 +1,17 @@
+package com.internship.user_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerFreeSlotsResponse {
+    private Long workerId;
+    private List<TimeSlotDTO> freeSlots;
+}
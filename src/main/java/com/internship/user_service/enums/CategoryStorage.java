@@ -0,0 +1,18 @@
+package com.internship.user_service.enums;
+
+/**
+ * Where the wanted categories of preferences are read from. The category mask column is written
+ * in both modes, so switching to {@link #BITMASK} only requires the existing rows to be migrated.
+ * The switch is one-way: in {@link #BITMASK} mode updated preferences lose their rows.
+ */
+public enum CategoryStorage {
+    /**
+     * One {@code wanted_categories} row per category, kept in sync with the mask.
+     */
+    TABLE,
+    /**
+     * Only the {@code wanted_category_mask} column of {@code preferences}. The {@code wanted_categories}
+     * rows of preferences are deleted when they are updated.
+     */
+    BITMASK
+}
@@ -0,0 +1,8 @@
+package com.internship.user_service.enums;
+
+public enum ExportState {
+    IDLE,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
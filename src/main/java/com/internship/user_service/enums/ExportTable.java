@@ -0,0 +1,43 @@
+package com.internship.user_service.enums;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tables written by the user export, in export order. Every table is read in the order of its
+ * primary key, so an interrupted export can continue after the last exported key.
+ */
+@Getter
+public enum ExportTable {
+    USERS("users", "id"),
+    PREFERENCES("preferences", "id"),
+    WANTED_CATEGORIES("wanted_categories", "preferences_id", "category_id"),
+    FAVORITES("favorites", "user_id", "favorite_user_id"),
+    BLOCKS("blocks", "blocking_user_id", "blocked_user_id");
+
+    private final String tableName;
+    private final List<String> keyColumns;
+
+    ExportTable(String tableName, String... keyColumns) {
+        this.tableName = tableName;
+        this.keyColumns = List.of(keyColumns);
+    }
+
+    public String fileName() {
+        return tableName + ".ndjson.gz";
+    }
+
+    /**
+     * Returns the query selecting all rows ordered by key, or only the rows after the key bound to
+     * its parameters when {@code afterKey} is set.
+     */
+    public String selectSql(boolean afterKey) {
+        String keys = String.join(", ", keyColumns);
+        String where = afterKey
+                ? " WHERE (" + keys + ") > (" + String.join(", ", Collections.nCopies(keyColumns.size(), "?")) + ")"
+                : "";
+        return "SELECT * FROM " + tableName + where + " ORDER BY " + keys;
+    }
+}
@@ -0,0 +1,27 @@
+package com.internship.user_service.enums;
+
+import org.springframework.http.MediaType;
+
+/**
+ * The record formats accepted by the bulk user import.
+ */
+public enum ImportFormat {
+    /**
+     * One JSON {@link com.internship.user_service.dto.UserDTO} per line.
+     */
+    NDJSON,
+    /**
+     * A header line naming the {@link com.internship.user_service.dto.UserDTO} fields, followed by
+     * one record per line.
+     */
+    CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static ImportFormat fromMediaType(MediaType mediaType) {
+        if (mediaType != null && mediaType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,16 @@
+package com.internship.user_service.enums;
+
+/**
+ * How the bulk user import treats records that conflict with an existing user.
+ */
+public enum ImportMode {
+    /**
+     * Records whose id or email already exists are skipped.
+     */
+    SKIP,
+    /**
+     * Records whose id already exists overwrite that user. Records whose email belongs to
+     * another user are reported as failed.
+     */
+    UPSERT
+}
@@ -2,6 +2,10 @@ package com.internship.user_service.enums;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 @RequiredArgsConstructor
 public enum JobCategory implements UserEnum {
     ALL(0),
@@ -29,4 +33,36 @@ public enum JobCategory implements UserEnum {
     public static JobCategory fromId(Integer id) {
         return UserEnum.fromId(JobCategory.class, id);
     }
+
+    /**
+     * Returns the bit of this category in a category mask, which is its id, so masks stay valid
+     * when categories are reordered.
+     */
+    public long bit() {
+        return 1L << id;
+    }
+
+    /**
+     * Encodes the given categories as a mask with the {@link #bit()} of every category set.
+     */
+    public static long toMask(Collection<JobCategory> categories) {
+        long mask = 0;
+        for (JobCategory category : categories) {
+            mask |= category.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Decodes the categories of the given mask, ordered by id.
+     */
+    public static List<JobCategory> fromMask(long mask) {
+        List<JobCategory> categories = new ArrayList<>(Long.bitCount(mask));
+        for (JobCategory category : values()) {
+            if ((mask & category.bit()) != 0) {
+                categories.add(category);
+            }
+        }
+        return categories;
+    }
 }
@@ -0,0 +1,66 @@
+package com.internship.user_service.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.internship.user_service.constants.FilePath.JPEG;
+import static com.internship.user_service.constants.FilePath.JPG;
+import static com.internship.user_service.constants.FilePath.PNG;
+
+/**
+ * Sizes in which profile pictures are served. Thumbnails are square and stored next to the
+ * original as {@code <name>_<pixels>.<ext>}; JPEG pictures keep their format, all others
+ * get PNG thumbnails.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PictureSize {
+    SMALL(64),
+    MEDIUM(256),
+    ORIGINAL(0);
+
+    public static final List<PictureSize> THUMBNAILS = List.of(SMALL, MEDIUM);
+
+    private final int pixels;
+
+    /**
+     * Returns the object name of this size of the picture with the given original object name.
+     */
+    public String objectName(String originalName) {
+        if (this == ORIGINAL) {
+            return originalName;
+        }
+
+        int dot = originalName.lastIndexOf('.');
+        String baseName = dot < 0 ? originalName : originalName.substring(0, dot);
+        return baseName + "_" + pixels + "." + thumbnailFormat(originalName);
+    }
+
+    /**
+     * Returns the image format thumbnails of the picture with the given original object name are written in.
+     */
+    public static String thumbnailFormat(String originalName) {
+        String extension = originalName.substring(originalName.lastIndexOf('.') + 1).toLowerCase();
+        return extension.equals(JPG) || extension.equals(JPEG) ? extension : PNG;
+    }
+
+    /**
+     * Finds the size with the given number of pixels, or {@link #ORIGINAL} if none is given.
+     *
+     * @throws IllegalArgumentException if there is no size with the given number of pixels
+     */
+    public static PictureSize fromPixels(Integer pixels) {
+        if (pixels == null) {
+            return ORIGINAL;
+        }
+
+        return Arrays.stream(values())
+                .filter(size -> size != ORIGINAL && size.pixels == pixels)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid picture size: " + pixels + ". Supported sizes are " +
+                        THUMBNAILS.stream().map(PictureSize::getPixels).toList() + "."));
+    }
+}
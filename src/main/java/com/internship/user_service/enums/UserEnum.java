@@ -1,8 +1,5 @@
 package com.internship.user_service.enums;
 
-import java.util.Arrays;
-import java.util.Objects;
-
 public interface UserEnum {
 
     /**
@@ -14,6 +11,9 @@ public interface UserEnum {
 
     /**
      * Finds the enum value of the given type that matches the given id.
+     * <p>
+     * The values of every enum type are indexed by id once, so lookups neither copy the enum
+     * constants nor iterate over them.
      *
      * @param enumClass the type of the enum
      * @param id the id to search for
@@ -21,9 +21,10 @@ public interface UserEnum {
      * @throws IllegalArgumentException if no enum value with the given id is found
      */
     static <E extends Enum<E> & UserEnum> E fromId(Class<E> enumClass, Integer id) {
-        return Arrays.stream(enumClass.getEnumConstants())
-                .filter(enumValue -> Objects.equals(enumValue.getId(), id))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Invalid " + enumClass.getSimpleName() + " id: " + id));
+        Object value = id == null ? null : UserEnumLookup.of(enumClass).find(id);
+        if (value == null) {
+            throw new IllegalArgumentException("Invalid " + enumClass.getSimpleName() + " id: " + id);
+        }
+        return enumClass.cast(value);
     }
 }
@@ -0,0 +1,64 @@
+package com.internship.user_service.enums;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The values of one {@link UserEnum} type indexed by id: in an array when the ids are small
+ * non-negative numbers, which they are for all enums stored by id, and in a map otherwise.
+ * Built once per enum type and cached in a {@link ClassValue}.
+ */
+final class UserEnumLookup {
+
+    private static final int MAX_ARRAY_SIZE = 1024;
+
+    private static final ClassValue<UserEnumLookup> BY_TYPE = new ClassValue<>() {
+        @Override
+        protected UserEnumLookup computeValue(Class<?> type) {
+            return new UserEnumLookup((UserEnum[]) type.getEnumConstants());
+        }
+    };
+
+    private final UserEnum[] byIndex;
+    private final Map<Integer, UserEnum> byId;
+
+    static UserEnumLookup of(Class<? extends UserEnum> enumClass) {
+        return BY_TYPE.get(enumClass);
+    }
+
+    private UserEnumLookup(UserEnum[] values) {
+        int minId = Integer.MAX_VALUE;
+        int maxId = -1;
+        for (UserEnum value : values) {
+            minId = Math.min(minId, value.getId());
+            maxId = Math.max(maxId, value.getId());
+        }
+
+        // Like the linear search this replaces, the first value wins when ids are duplicated
+        if (minId >= 0 && maxId < MAX_ARRAY_SIZE) {
+            byIndex = new UserEnum[maxId + 1];
+            byId = null;
+            for (UserEnum value : values) {
+                if (byIndex[value.getId()] == null) {
+                    byIndex[value.getId()] = value;
+                }
+            }
+        } else {
+            byIndex = null;
+            byId = new HashMap<>();
+            for (UserEnum value : values) {
+                byId.putIfAbsent(value.getId(), value);
+            }
+        }
+    }
+
+    /**
+     * Returns the value with the given id, or {@code null} if there is none.
+     */
+    UserEnum find(int id) {
+        if (byIndex != null) {
+            return id >= 0 && id < byIndex.length ? byIndex[id] : null;
+        }
+        return byId.get(id);
+    }
+}
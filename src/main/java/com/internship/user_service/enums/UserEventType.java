@@ -0,0 +1,20 @@
+package com.internship.user_service.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The kinds of user change events, each published with its own routing key so consumers can bind
+ * to the changes they care about.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum UserEventType {
+    USER_CREATED("user.created"),
+    USER_UPDATED("user.updated"),
+    USER_DELETED("user.deleted"),
+    WORKING_HOURS_CHANGED("user.working-hours-changed"),
+    PICTURE_CHANGED("user.picture-changed");
+
+    private final String routingKey;
+}
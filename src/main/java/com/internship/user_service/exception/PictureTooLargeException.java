@@ -0,0 +1,7 @@
+package com.internship.user_service.exception;
+
+public class PictureTooLargeException extends RuntimeException {
+    public PictureTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.List;
 
@@ -114,6 +115,18 @@ public class UserExceptionHandler {
         return handleUserDefinedException(ex, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PictureTooLargeException.class)
+    public ResponseEntity<ExceptionResponse> handlePictureTooLargeException(PictureTooLargeException ex) {
+        log.error("PictureTooLargeException occurred: {}", ex.getMessage());
+        return handleUserDefinedException(ex, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ExceptionResponse> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
+        log.error("MaxUploadSizeExceededException occurred: {}", ex.getMessage());
+        return handleUserDefinedException(ex, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     @ExceptionHandler(ServiceUnavailableException.class)
     public ResponseEntity<ExceptionResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
         log.error("ServiceUnavailableException occurred: {}", ex.getMessage());
@@ -1,6 +1,7 @@
 package com.internship.user_service.mapper;
 
 import com.internship.user_service.constants.FilePath;
+import com.internship.user_service.enums.PictureSize;
 import com.internship.user_service.model.User;
 import com.internship.user_service.dto.UserDTO;
 import com.internship.user_service.dto.UserResponse;
@@ -10,6 +11,9 @@ import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Mapper(componentModel = "spring",
         imports = FilePath.class,
         unmappedTargetPolicy = ReportingPolicy.IGNORE)
@@ -19,6 +23,7 @@ public abstract class UserMapper {
     private String bucketName;
 
     @Mapping(target = "profilePicturePath", expression = "java(buildFullGcsUrl(user.getProfilePicturePath()))")
+    @Mapping(target = "profilePictureThumbnailPaths", expression = "java(buildThumbnailGcsUrls(user.getProfilePicturePath()))")
     public abstract UserResponse toUserResponse(User user);
 
     public abstract User toUserEntity(UserDTO userDTO);
@@ -27,4 +32,18 @@ public abstract class UserMapper {
     protected String buildFullGcsUrl(String path) {
         return "https://storage.googleapis.com/" + bucketName + "/" + path;
     }
+
+    /**
+     * Builds the URLs of the thumbnails of the given profile picture, keyed by their size in pixels.
+     * The thumbnails are created in the background, so they can be missing shortly after an upload.
+     */
+    @Named("buildThumbnailGcsUrls")
+    protected Map<Integer, String> buildThumbnailGcsUrls(String path) {
+        if (path == null || path.isBlank()) {
+            return Map.of();
+        }
+
+        return PictureSize.THUMBNAILS.stream()
+                .collect(Collectors.toMap(PictureSize::getPixels, size -> buildFullGcsUrl(size.objectName(path))));
+    }
 }
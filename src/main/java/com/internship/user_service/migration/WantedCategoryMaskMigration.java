@@ -0,0 +1,57 @@
+package com.internship.user_service.migration;
+
+import com.internship.user_service.repository.PreferencesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Computes the category mask of the preferences written before the mask was introduced from their
+ * wanted category rows, once the application is ready.
+ * <p>
+ * The service is already taking requests by then, so the preferences are migrated in batches of
+ * {@code batch-size} by id, each in its own transaction, and a concurrent update of a preference
+ * waits for one batch at most.
+ */
+@Slf4j
+@Component
+public class WantedCategoryMaskMigration {
+
+    private final PreferencesRepository preferencesRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public WantedCategoryMaskMigration(PreferencesRepository preferencesRepository,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${configs.preferences.wanted-categories.migration.batch-size:1000}") int batchSize) {
+        this.preferencesRepository = preferencesRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Migrates every preference without a category mask. Does nothing once every mask is set.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        // The backfill statement is PostgreSQL specific, skip it once every mask is set
+        if (!preferencesRepository.existsByWantedCategoryMaskIsNull()) {
+            return;
+        }
+
+        long migrated = 0;
+        int batch;
+        do {
+            Integer updated = transactionTemplate.execute(status -> preferencesRepository.migrateWantedCategoryMasks(batchSize));
+            batch = updated == null ? 0 : updated;
+            migrated += batch;
+        } while (batch == batchSize);
+
+        if (migrated > 0) {
+            log.info("Migrated the wanted categories of {} preferences to the category mask.", migrated);
+        }
+    }
+}
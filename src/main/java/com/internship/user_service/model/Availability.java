@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "availabilities")
+@Table(name = "availabilities", indexes = {
+        @Index(name = "idx_availabilities_user_end_start", columnList = "user_id, end_time, start_time")
+})
 public class Availability {
 
     @Id
@@ -0,0 +1,41 @@
+package com.internship.user_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A storage object that is no longer referenced and still has to be deleted. Rows are written in
+ * the same transaction as the change that orphaned the object, and removed by the cleanup worker
+ * once the object is gone.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "blob_cleanup_tasks", indexes = {
+        @Index(name = "idx_blob_cleanup_tasks_next_attempt_at", columnList = "next_attempt_at"),
+        @Index(name = "idx_blob_cleanup_tasks_object_name", columnList = "object_name")
+})
+public class BlobCleanupTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_name", nullable = false)
+    private String objectName;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @CreationTimestamp
+    @Column(nullable = false)
+    private LocalDateTime created;
+}
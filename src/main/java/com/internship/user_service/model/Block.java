@@ -7,7 +7,9 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "blocks")
+@Table(name = "blocks", indexes = {
+        @Index(name = "idx_blocks_blocked_user_blocking_user", columnList = "blocked_user_id, blocking_user_id")
+})
 public class Block {
 
     @EmbeddedId
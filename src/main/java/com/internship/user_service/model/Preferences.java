@@ -26,6 +26,12 @@ public class Preferences {
 
     private Integer preferredExperience;
 
+    /**
+     * The wanted categories encoded with {@link com.internship.user_service.enums.JobCategory#toMask},
+     * or {@code null} for preferences written before the mask was introduced and not migrated yet.
+     */
+    private Long wantedCategoryMask;
+
     @OneToMany(mappedBy = "preferences", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<WantedCategory> wantedCategories;
 }
@@ -0,0 +1,42 @@
+package com.internship.user_service.model;
+
+import com.internship.user_service.enums.UserEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user change that still has to be published. Rows are written in the same transaction as the
+ * change itself, and removed by the relay once the event has been confirmed by the broker.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_events")
+public class UserEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private UserEventType type;
+
+    /**
+     * The state of the user after the change as JSON, or {@code null} for deletions.
+     */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false)
+    private LocalDateTime created;
+}
@@ -8,7 +8,9 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "wanted_categories")
+@Table(name = "wanted_categories", indexes = {
+        @Index(name = "idx_wanted_categories_category_preferences", columnList = "category_id, preferences_id")
+})
 public class WantedCategory {
 
     @EmbeddedId
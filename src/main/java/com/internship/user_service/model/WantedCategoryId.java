@@ -17,7 +17,19 @@ import java.io.Serializable;
 @Embeddable
 public class WantedCategoryId implements Serializable {
 
-    private JobCategory categoryId;
+    /**
+     * The id of the category, see {@link JobCategory#getId()}, which matches the ordinal the column
+     * was written with before. Mapped as a plain column because JPA does not allow attribute
+     * converters on the attributes of embedded ids.
+     */
+    private Integer categoryId;
     private Long preferencesId;
 
+    public static WantedCategoryId of(JobCategory category, Long preferencesId) {
+        return new WantedCategoryId(category.getId(), preferencesId);
+    }
+
+    public JobCategory getCategory() {
+        return categoryId == null ? null : JobCategory.fromId(categoryId);
+    }
 }
@@ -0,0 +1,25 @@
+package com.internship.user_service.rabbitmq;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.internship.user_service.enums.UserEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEventMessage {
+    private Long eventId;
+    private UserEventType type;
+    private Long userId;
+    private LocalDateTime occurredAt;
+
+    /**
+     * The state of the user after the change, embedded as is, or {@code null} for deletions.
+     */
+    @JsonRawValue
+    private String payload;
+}
@@ -1,16 +1,25 @@
 package com.internship.user_service.rabbitmq.configuration;
 
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.aop.Advice;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
+@Slf4j
 @Configuration
 public class RabbitMQConfig {
 
@@ -23,6 +32,66 @@ public class RabbitMQConfig {
     @Value("${spring.rabbitmq.password}")
     private String password;
 
+    @Value("${configs.rabbitmq.connection.channel-cache-size:25}")
+    private int channelCacheSize;
+
+    @Value("${configs.rabbitmq.publisher.confirms:true}")
+    private boolean publisherConfirms;
+
+    @Value("${configs.rabbitmq.publisher.returns:true}")
+    private boolean publisherReturns;
+
+    @Value("${configs.rabbitmq.listener.prefetch:250}")
+    private int prefetch;
+
+    @Value("${configs.rabbitmq.listener.concurrency:1}")
+    private int concurrency;
+
+    @Value("${configs.rabbitmq.listener.max-concurrency:1}")
+    private int maxConcurrency;
+
+    @Value("${configs.rabbitmq.listener.acknowledge-mode:AUTO}")
+    private AcknowledgeMode acknowledgeMode;
+
+    @Value("${configs.rabbitmq.listener.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${configs.rabbitmq.listener.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${configs.rabbitmq.listener.retry.initial-interval:1000}")
+    private long retryInitialInterval;
+
+    @Value("${configs.rabbitmq.listener.retry.multiplier:2.0}")
+    private double retryMultiplier;
+
+    @Value("${configs.rabbitmq.listener.retry.max-interval:10000}")
+    private long retryMaxInterval;
+
+    @Value("${configs.rabbitmq.dead-letter.exchange:user-service.dlx}")
+    private String deadLetterExchange;
+
+    @Value("${configs.rabbitmq.dead-letter.queue:user-service.dlq}")
+    private String deadLetterQueue;
+
+    @Value("${configs.rabbitmq.user-events.exchange:user-events}")
+    private String userEventsExchange;
+
+    @Value("${configs.rabbitmq.listeners.deleteUser.batch-size:100}")
+    private int deleteUserBatchSize;
+
+    @Value("${configs.rabbitmq.listeners.deleteUser.receive-timeout:500}")
+    private long deleteUserReceiveTimeout;
+
+    @Value("${configs.rabbitmq.listeners.deleteUser.prefetch:250}")
+    private int deleteUserPrefetch;
+
+    @Value("${configs.rabbitmq.listeners.deleteUser.concurrency:1}")
+    private int deleteUserConcurrency;
+
+    @Value("${configs.rabbitmq.listeners.deleteUser.max-concurrency:1}")
+    private int deleteUserMaxConcurrency;
+
     /**
      * @return a Jackson2JsonMessageConverter for serializing/deserializing objects to/from JSON
      * messages sent over RabbitMQ
@@ -38,7 +107,8 @@ public class RabbitMQConfig {
      * The host name is "rabbitmq", and the username and password are "guest".
      * <p>
      * The caching connection factory is used to improve performance by reusing
-     * connections when available.
+     * connections when available. Up to {@code channel-cache-size} channels are kept
+     * open, and publisher confirms and returns are enabled unless switched off.
      *
      * @return a ConnectionFactory for RabbitMQ
      */
@@ -47,6 +117,11 @@ public class RabbitMQConfig {
         CachingConnectionFactory connectionFactory = new CachingConnectionFactory(rabbitmqHost);
         connectionFactory.setUsername(username);
         connectionFactory.setPassword(password);
+        connectionFactory.setChannelCacheSize(channelCacheSize);
+        connectionFactory.setPublisherConfirmType(publisherConfirms
+                ? CachingConnectionFactory.ConfirmType.CORRELATED
+                : CachingConnectionFactory.ConfirmType.NONE);
+        connectionFactory.setPublisherReturns(publisherReturns);
         return connectionFactory;
     }
 
@@ -56,6 +131,7 @@ public class RabbitMQConfig {
      * <p>
      * The message converter is set to a Jackson2JsonMessageConverter, which
      * serializes/deserializes objects to/from JSON messages sent over RabbitMQ.
+     * Messages that are negatively confirmed or can not be routed are logged.
      *
      * @param connectionFactory a ConnectionFactory for RabbitMQ
      * @return a primary RabbitTemplate instance
@@ -65,6 +141,134 @@ public class RabbitMQConfig {
     public AmqpTemplate amqpTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        rabbitTemplate.setMandatory(publisherReturns);
+        rabbitTemplate.setConfirmCallback((correlationData, ack, cause) -> {
+            if (!ack) {
+                log.error("Message {} was not confirmed by the broker: {}", correlationData, cause);
+            }
+        });
+        rabbitTemplate.setReturnsCallback(returned ->
+                log.error("Message returned by the broker from exchange '{}' with routing key '{}': {} {}",
+                        returned.getExchange(), returned.getRoutingKey(), returned.getReplyCode(), returned.getReplyText()));
         return rabbitTemplate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Declares the exchange and queue that messages are dead-lettered to once every delivery
+     * attempt failed. The queue is bound with its own name as routing key.
+     *
+     * @return the dead-letter exchange, queue and binding
+     */
+    @Bean
+    public Declarables deadLetterDeclarables() {
+        DirectExchange exchange = new DirectExchange(deadLetterExchange);
+        Queue queue = QueueBuilder.durable(deadLetterQueue).build();
+        return new Declarables(exchange, queue, BindingBuilder.bind(queue).to(exchange).with(deadLetterQueue));
+    }
+
+    /**
+     * Declares the topic exchange user change events are published to. Every event type has its
+     * own routing key, see {@link com.internship.user_service.enums.UserEventType}.
+     *
+     * @return a durable TopicExchange for user events
+     */
+    @Bean
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(userEventsExchange);
+    }
+
+    /**
+     * Republishes messages whose processing failed on every attempt to the dead-letter exchange,
+     * with the exception and the original exchange and routing key in the headers. This does not
+     * depend on dead-letter arguments of the consumed queues, which are declared by their producers.
+     *
+     * @param amqpTemplate the template used to republish
+     * @return a RepublishMessageRecoverer for the dead-letter exchange
+     */
+    @Bean
+    public MessageRecoverer deadLetterRecoverer(AmqpTemplate amqpTemplate) {
+        return new RepublishMessageRecoverer(amqpTemplate, deadLetterExchange, deadLetterQueue);
+    }
+
+    /**
+     * Creates the default listener container factory, used by every {@code @RabbitListener}
+     * that does not name another one.
+     *
+     * @param connectionFactory   a ConnectionFactory for RabbitMQ
+     * @param deadLetterRecoverer the recoverer for messages that failed on every attempt
+     * @return a SimpleRabbitListenerContainerFactory configured from {@code configs.rabbitmq.listener}
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                               MessageRecoverer deadLetterRecoverer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configure(factory, connectionFactory);
+        factory.setPrefetchCount(prefetch);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(maxConcurrency, concurrency));
+        factory.setAdviceChain(retryAdvice(deadLetterRecoverer));
+        return factory;
+    }
+
+    /**
+     * Creates the listener container factory for the delete user queue.
+     * <p>
+     * Consumers collect up to {@code batch-size} messages, or as many as arrive before no
+     * message has been received for {@code receive-timeout} milliseconds, and hand them to
+     * the listener as one list. The prefetch is never lower than the batch size, otherwise a
+     * batch could not fill up. A batch that failed on every attempt is dead-lettered message
+     * by message.
+     *
+     * @param connectionFactory   a ConnectionFactory for RabbitMQ
+     * @param deadLetterRecoverer the recoverer for messages that failed on every attempt
+     * @return a batching SimpleRabbitListenerContainerFactory
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory deleteUserListenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                                   MessageRecoverer deadLetterRecoverer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(deleteUserBatchSize);
+        factory.setReceiveTimeout(deleteUserReceiveTimeout);
+        factory.setPrefetchCount(Math.max(deleteUserPrefetch, deleteUserBatchSize));
+        factory.setConcurrentConsumers(deleteUserConcurrency);
+        factory.setMaxConcurrentConsumers(Math.max(deleteUserMaxConcurrency, deleteUserConcurrency));
+        MessageBatchRecoverer batchRecoverer = (messages, cause) ->
+                messages.forEach(message -> deadLetterRecoverer.recover(message, cause));
+        factory.setAdviceChain(retryAdvice(batchRecoverer));
+        return factory;
+    }
+
+    private void configure(SimpleRabbitListenerContainerFactory factory, ConnectionFactory connectionFactory) {
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setAcknowledgeMode(acknowledgeMode);
+        // Failed messages are dead-lettered by the retry advice, never requeued in a loop
+        factory.setDefaultRequeueRejected(false);
+
+        if (virtualThreads) {
+            if (Runtime.version().feature() >= 21) {
+                SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("rabbit-consumer-");
+                executor.setVirtualThreads(true);
+                factory.setTaskExecutor(executor);
+            } else {
+                log.warn("Virtual thread consumers need Java 21 or newer, using platform threads.");
+            }
+        }
+    }
+
+    /**
+     * Retries a failed delivery up to {@code max-attempts} times in total with an exponential
+     * backoff, then hands it to the recoverer. One attempt disables retries but still
+     * dead-letters the message.
+     */
+    private Advice retryAdvice(MessageRecoverer recoverer) {
+        return RetryInterceptorBuilder.stateless()
+                .maxAttempts(Math.max(retryMaxAttempts, 1))
+                .backOffOptions(retryInitialInterval, retryMultiplier, retryMaxInterval)
+                .recoverer(recoverer)
+                .build();
+    }
+}
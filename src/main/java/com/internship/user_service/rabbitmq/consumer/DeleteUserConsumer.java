@@ -1,37 +1,112 @@
 package com.internship.user_service.rabbitmq.consumer;
 
-import com.internship.user_service.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.constants.CacheNames;
 import com.internship.user_service.rabbitmq.Message;
-import com.internship.user_service.repository.UserRepository;
+import com.internship.user_service.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DeleteUserConsumer {
 
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final CacheManager cacheManager;
+    private final MessageRecoverer deadLetterRecoverer;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Deletes the user with the given ID from the database.
+     * Deletes the users with the given IDs from the database, and schedules the deletion of their
+     * profile pictures from storage.
+     * <p>
+     * Messages are delivered in batches by the {@code deleteUserListenerContainerFactory}, and
+     * every batch is deleted with one set-based statement. If that statement violates a constraint,
+     * for example because a user still has rows referencing it, the users are deleted one by one,
+     * each in its own transaction, and only the users that can not be deleted are dead-lettered.
+     * Other failures fail the whole batch, which is then retried.
+     * <p>
+     * The listener receives the raw AMQP messages and reads their bodies itself, so that the
+     * messages that are dead-lettered are the ones that were received, with all their headers.
+     * Messages whose body can not be read are dead-lettered once the batch has been processed, so
+     * that a batch that is retried does not dead-letter them twice.
      *
-     * @param message contains the ID of the user to be deleted
+     * @param messages contain the IDs of the users to be deleted
      */
-    @RabbitListener(queues = "${configs.rabbitmq.queues.deleteUser}")
-    public void consumeMessage(Message message) {
-        log.info("Attempting to delete user with id: {}", message.getUserId());
+    @RabbitListener(queues = "${configs.rabbitmq.queues.deleteUser}",
+            containerFactory = "deleteUserListenerContainerFactory")
+    public void consumeMessages(List<org.springframework.amqp.core.Message> messages) {
+        Map<Long, List<org.springframework.amqp.core.Message>> messagesByUserId = new LinkedHashMap<>();
+        Map<org.springframework.amqp.core.Message, IOException> unreadable = new LinkedHashMap<>();
+        for (org.springframework.amqp.core.Message message : messages) {
+            try {
+                Long userId = objectMapper.readValue(message.getBody(), Message.class).getUserId();
+                if (userId != null) {
+                    messagesByUserId.computeIfAbsent(userId, id -> new ArrayList<>()).add(message);
+                }
+            } catch (IOException e) {
+                unreadable.put(message, e);
+            }
+        }
+        Set<Long> userIds = new LinkedHashSet<>(messagesByUserId.keySet());
+        log.info("Attempting to delete {} users.", userIds.size());
+
+        Set<Long> failedIds = new LinkedHashSet<>();
+        Set<Long> deletedIds = deleteUsers(messagesByUserId, failedIds);
+
+        // Evicted once the deletion is committed, like @CacheEvict does for a single user
+        for (String cacheName : List.of(CacheNames.USERS, CacheNames.PREFERENCES)) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                deletedIds.forEach(cache::evict);
+            }
+        }
 
-        Optional<User> user = userRepository.findById(message.getUserId());
+        userIds.stream()
+                .filter(userId -> !deletedIds.contains(userId) && !failedIds.contains(userId))
+                .forEach(userId -> log.error("User with id {} not found.", userId));
+
+        unreadable.forEach((message, e) -> {
+            log.error("Delete user message could not be read, dead-lettering it.", e);
+            deadLetterRecoverer.recover(message, e);
+        });
+    }
+
+    private Set<Long> deleteUsers(Map<Long, List<org.springframework.amqp.core.Message>> messagesByUserId,
+                                  Set<Long> failedIds) {
+        Set<Long> userIds = new LinkedHashSet<>(messagesByUserId.keySet());
+        try {
+            return userService.deleteUsers(userIds);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Deleting {} users at once failed, deleting them one by one.", userIds.size());
+        }
 
-        if (user.isPresent()) {
-            userRepository.delete(user.get());
-        } else {
-            log.error("User with id {} not found.", message.getUserId());
+        // Every call runs in its own transaction, so a failing user does not roll back the others
+        Set<Long> deletedIds = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            try {
+                deletedIds.addAll(userService.deleteUsers(Set.of(userId)));
+            } catch (DataIntegrityViolationException e) {
+                log.error("User with id {} could not be deleted, dead-lettering it.", userId, e);
+                failedIds.add(userId);
+                messagesByUserId.get(userId).forEach(message -> deadLetterRecoverer.recover(message, e));
+            }
         }
+        return deletedIds;
     }
 }
@@ -2,6 +2,7 @@ package com.internship.user_service.repository;
 
 import com.internship.user_service.model.Availability;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -11,4 +12,15 @@ public interface AvailabilityRepository extends JpaRepository<Availability, Long
     List<Availability> findAllByUserId(Long userId);
 
     List<Availability> findAllByUserIdAndStartTime(Long userId, LocalDateTime dateOfReservation);
+
+    /**
+     * Checks whether the user has a busy slot overlapping the half-open interval
+     * {@code [startTime, endTime)}, so slots that only touch each other do not overlap.
+     * Served by the (user_id, end_time, start_time) index on {@link Availability}: the range on
+     * {@code end_time} skips the past slots of the worker, which a leading {@code start_time}
+     * range would all have to visit.
+     */
+    @Query("SELECT COUNT(a) > 0 FROM Availability a " +
+            "WHERE a.user.id = :userId AND a.startTime < :endTime AND a.endTime > :startTime")
+    boolean existsOverlapping(Long userId, LocalDateTime startTime, LocalDateTime endTime);
 }
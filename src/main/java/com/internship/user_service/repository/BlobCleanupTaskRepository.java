@@ -0,0 +1,40 @@
+package com.internship.user_service.repository;
+
+import com.internship.user_service.model.BlobCleanupTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
+public interface BlobCleanupTaskRepository extends JpaRepository<BlobCleanupTask, Long> {
+
+    /**
+     * Returns the due tasks, oldest first, and locks them. Tasks locked by another instance are
+     * skipped ({@code -2} is Hibernate's SKIP LOCKED timeout), so instances never work on the
+     * same tasks.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT t FROM BlobCleanupTask t WHERE t.nextAttemptAt <= :now ORDER BY t.nextAttemptAt")
+    List<BlobCleanupTask> findDueForUpdate(LocalDateTime now, Limit limit);
+
+    /**
+     * Removes the pending tasks for the given objects. The statement waits for tasks a worker is
+     * currently processing, so an object written after this call is never deleted by an older task.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BlobCleanupTask t WHERE t.objectName IN :objectNames")
+    int deleteByObjectNameIn(Collection<String> objectNames);
+}
@@ -2,13 +2,30 @@ package com.internship.user_service.repository;
 
 import com.internship.user_service.model.Block;
 import com.internship.user_service.model.BlockId;
-import com.internship.user_service.model.User;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface BlockRepository extends JpaRepository<Block, BlockId> {
-    Page<Block> findByBlockingUser(User user, Pageable pageable);
+    @Query("SELECT b.id.blockedUserId FROM Block b WHERE b.id.blockingUserId = :blockingUserId ORDER BY b.id.blockedUserId")
+    List<Long> findBlockedUserIdsByBlockingUserId(Long blockingUserId, Pageable pageable);
+
+    @Query("SELECT b.id.blockedUserId FROM Block b WHERE b.id.blockingUserId = :blockingUserId")
+    List<Long> findBlockedUserIdsByBlockingUserId(Long blockingUserId, Limit limit);
+
+    /**
+     * Returns the candidates that are blocked by the user or that blocked the user. The first
+     * branch is served by the primary key, the second by the reverse index on {@link Block}.
+     */
+    @Query("SELECT CASE WHEN b.id.blockingUserId = :userId THEN b.id.blockedUserId ELSE b.id.blockingUserId END " +
+            "FROM Block b " +
+            "WHERE (b.id.blockingUserId = :userId AND b.id.blockedUserId IN :candidateIds) " +
+            "OR (b.id.blockedUserId = :userId AND b.id.blockingUserId IN :candidateIds)")
+    List<Long> findBlockedCandidateIds(Long userId, Collection<Long> candidateIds);
 }
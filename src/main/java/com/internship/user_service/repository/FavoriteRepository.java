@@ -3,12 +3,22 @@ package com.internship.user_service.repository;
 import com.internship.user_service.model.Favorite;
 import com.internship.user_service.model.FavoriteId;
 import com.internship.user_service.model.User;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface FavoriteRepository extends JpaRepository<Favorite, FavoriteId> {
-    Page<Favorite> findByUser(User user, Pageable pageable);
+    @Query("SELECT f.id.favoriteUserId FROM Favorite f WHERE f.id.userId = :userId ORDER BY f.id.favoriteUserId")
+    List<Long> findFavoriteUserIdsByUserId(Long userId, Pageable pageable);
+
+    @Query("SELECT f.id.favoriteUserId FROM Favorite f WHERE f.id.userId = :userId")
+    List<Long> findFavoriteUserIdsByUserId(Long userId, Limit limit);
+
+    @Query("SELECT u FROM Favorite f JOIN f.favoriteUser u WHERE f.id.userId = :userId ORDER BY u.id")
+    List<User> findFavoriteUsersByUserId(Long userId, Pageable pageable);
 }
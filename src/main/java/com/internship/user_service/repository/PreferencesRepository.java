@@ -1,7 +1,81 @@
 package com.internship.user_service.repository;
 
 import com.internship.user_service.model.Preferences;
+import com.internship.user_service.repository.projection.PreferencesCategoryView;
+import com.internship.user_service.repository.projection.PreferencesMaskView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface PreferencesRepository extends JpaRepository<Preferences, Long> {
+
+    /**
+     * Returns the preferences of the given user joined with their wanted categories, one row per
+     * category, in a single query. Returns no rows when the user has no preferences.
+     */
+    @Query("SELECT p.id AS userId, p.preferredDistance AS preferredDistance, " +
+            "p.preferredExperience AS preferredExperience, wc.wantedCategoryId.categoryId AS categoryId " +
+            "FROM Preferences p LEFT JOIN p.wantedCategories wc " +
+            "WHERE p.id = :userId")
+    List<PreferencesCategoryView> findViewsByUserId(Long userId);
+
+    @Query("SELECT p.id AS userId, p.preferredDistance AS preferredDistance, " +
+            "p.preferredExperience AS preferredExperience, p.wantedCategoryMask AS wantedCategoryMask " +
+            "FROM Preferences p WHERE p.id = :userId")
+    Optional<PreferencesMaskView> findMaskViewByUserId(Long userId);
+
+    /**
+     * Keyset page of the preferences wanting any of the given categories, ordered by user id,
+     * filtered by their preferred distance and experience. Preferences wanting several of the
+     * categories are returned once.
+     * <p>
+     * Driven by the {@code (category_id, preferences_id)} index of {@code wanted_categories}, so
+     * every page is an index range scan per category starting after the last id of the previous page.
+     */
+    @Query("SELECT DISTINCT p.id AS userId, p.preferredDistance AS preferredDistance, " +
+            "p.preferredExperience AS preferredExperience, p.wantedCategoryMask AS wantedCategoryMask " +
+            "FROM WantedCategory wc JOIN wc.preferences p " +
+            "WHERE wc.wantedCategoryId.categoryId IN :categoryIds AND wc.wantedCategoryId.preferencesId > :afterId " +
+            "AND p.preferredDistance <= :maxDistance AND p.preferredExperience >= :minExperience " +
+            "ORDER BY p.id")
+    List<PreferencesMaskView> findPageByWantedCategory(Collection<Integer> categoryIds, long afterId, double maxDistance,
+                                                       int minExperience, Limit limit);
+
+    /**
+     * Keyset page of the preferences whose category mask shares a bit with the given mask, ordered
+     * by user id, filtered by their preferred distance and experience with a bitwise predicate.
+     * <p>
+     * No index serves the bitwise predicate, so every page walks the primary key from the last id of
+     * the previous page and filters every row it passes. A page costs as many rows as it skips, which
+     * is close to a full scan of {@code preferences} for rarely wanted categories. Searches that need
+     * to stay index driven should use the {@code TABLE} storage and {@link #findPageByWantedCategory}.
+     */
+    @Query("SELECT p.id AS userId, p.preferredDistance AS preferredDistance, " +
+            "p.preferredExperience AS preferredExperience, p.wantedCategoryMask AS wantedCategoryMask " +
+            "FROM Preferences p " +
+            "WHERE bitand(p.wantedCategoryMask, :mask) <> 0 AND p.id > :afterId " +
+            "AND p.preferredDistance <= :maxDistance AND p.preferredExperience >= :minExperience " +
+            "ORDER BY p.id")
+    List<PreferencesMaskView> findPageByWantedCategoryMask(long mask, long afterId, double maxDistance,
+                                                           int minExperience, Limit limit);
+
+    boolean existsByWantedCategoryMaskIsNull();
+
+    /**
+     * Computes the category mask of the first {@code batchSize} preferences, by id, that do not have
+     * one yet from their {@code wanted_categories} rows, whose {@code category_id} is the category id.
+     *
+     * @return The number of migrated preferences, less than {@code batchSize} once none are left.
+     */
+    @Modifying
+    @Query(value = "UPDATE preferences p SET wanted_category_mask = COALESCE(" +
+            "(SELECT bit_or(CAST(1 AS BIGINT) << wc.category_id) FROM wanted_categories wc WHERE wc.preferences_id = p.id), 0) " +
+            "WHERE p.id IN (SELECT u.id FROM preferences u WHERE u.wanted_category_mask IS NULL ORDER BY u.id LIMIT :batchSize)",
+            nativeQuery = true)
+    int migrateWantedCategoryMasks(int batchSize);
 }
@@ -0,0 +1,26 @@
+package com.internship.user_service.repository;
+
+import com.internship.user_service.model.UserEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
+public interface UserEventRepository extends JpaRepository<UserEvent, Long> {
+
+    /**
+     * Returns the oldest unpublished events in the order they were written, and locks them.
+     * Events locked by another instance are skipped ({@code -2} is Hibernate's SKIP LOCKED timeout).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT e FROM UserEvent e ORDER BY e.id")
+    List<UserEvent> findOldestForUpdate(Limit limit);
+}
@@ -1,10 +1,72 @@
 package com.internship.user_service.repository;
 
 import com.internship.user_service.model.User;
+import com.internship.user_service.repository.projection.UserPictureView;
+import com.internship.user_service.repository.projection.WorkerBusySlotView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u.id) > 0 FROM User u WHERE u.phone = :phoneNumber")
     boolean checkIfPhoneExists(String phoneNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(Long id);
+
+    /**
+     * Keyset page over the users table: returns the users whose id is strictly greater
+     * than {@code id}, ordered by id, so every page is an index range scan on the primary key.
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams every user ordered by id through a server-side JDBC cursor.
+     * <p>
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllOrderedById();
+
+    /**
+     * Returns the working hours of the given workers together with their busy slots overlapping
+     * {@code [startTime, endTime)}, ordered by worker and slot start, in a single query.
+     */
+    @Query("SELECT u.id AS workerId, u.startTime AS workStart, u.endTime AS workEnd, " +
+            "a.startTime AS busyStart, a.endTime AS busyEnd " +
+            "FROM User u LEFT JOIN u.availabilities a ON a.startTime < :endTime AND a.endTime > :startTime " +
+            "WHERE u.id IN :workerIds " +
+            "ORDER BY u.id, a.startTime")
+    List<WorkerBusySlotView> findWorkingHoursAndBusySlots(Collection<Long> workerIds,
+                                                          LocalDateTime startTime,
+                                                          LocalDateTime endTime);
+
+    @Query("SELECT u.id AS id, u.profilePicturePath AS profilePicturePath FROM User u WHERE u.id IN :ids")
+    List<UserPictureView> findPicturesByIdIn(Collection<Long> ids);
+
+    /**
+     * Deletes the given users with a single statement, bypassing the persistence context.
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
 }
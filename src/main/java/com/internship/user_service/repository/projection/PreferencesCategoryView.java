@@ -0,0 +1,22 @@
+package com.internship.user_service.repository.projection;
+
+import com.internship.user_service.enums.JobCategory;
+
+/**
+ * The preferences of a user together with one of their wanted categories. The category is
+ * {@code null} when the user wants none.
+ */
+public interface PreferencesCategoryView {
+
+    Long getUserId();
+
+    Double getPreferredDistance();
+
+    Integer getPreferredExperience();
+
+    Integer getCategoryId();
+
+    default JobCategory getCategory() {
+        return getCategoryId() == null ? null : JobCategory.fromId(getCategoryId());
+    }
+}
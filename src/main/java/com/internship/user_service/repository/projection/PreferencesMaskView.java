@@ -0,0 +1,16 @@
+package com.internship.user_service.repository.projection;
+
+/**
+ * The preferences of a user with their wanted categories encoded as a mask, which is
+ * {@code null} when the preferences were not migrated to the mask yet.
+ */
+public interface PreferencesMaskView {
+
+    Long getUserId();
+
+    Double getPreferredDistance();
+
+    Integer getPreferredExperience();
+
+    Long getWantedCategoryMask();
+}
@@ -0,0 +1,12 @@
+package com.internship.user_service.repository.projection;
+
+/**
+ * The id of a user together with the object name of their profile picture, which is
+ * {@code null} when the user has none.
+ */
+public interface UserPictureView {
+
+    Long getId();
+
+    String getProfilePicturePath();
+}
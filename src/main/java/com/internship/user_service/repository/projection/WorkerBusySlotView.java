@@ -0,0 +1,21 @@
+package com.internship.user_service.repository.projection;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * One row per busy slot of a worker, carrying the worker's working hours. A worker without
+ * busy slots in the requested window is returned once with {@code null} busy times.
+ */
+public interface WorkerBusySlotView {
+
+    Long getWorkerId();
+
+    LocalTime getWorkStart();
+
+    LocalTime getWorkEnd();
+
+    LocalDateTime getBusyStart();
+
+    LocalDateTime getBusyEnd();
+}
@@ -0,0 +1,42 @@
+package com.internship.user_service.service;
+
+import com.internship.user_service.enums.PictureSize;
+
+public interface BlobCleanupService {
+
+    /**
+     * Records the given profile picture and its {@link PictureSize#THUMBNAILS} for deletion from
+     * storage. The objects are deleted in the background, so this call does not depend on the
+     * availability of the storage service. Blank names are ignored.
+     * <p>
+     * Must be called inside the transaction that removes the last reference to the picture.
+     *
+     * @param pictureName The object name of the original profile picture.
+     */
+    void scheduleDeletion(String pictureName);
+
+    /**
+     * Records the given profile picture and its thumbnails for deletion like
+     * {@link #scheduleDeletion(String)}, except for the objects it shares with the picture that
+     * replaces it. Originals with different extensions can share thumbnail names, e.g. GIF and PNG
+     * pictures both get PNG thumbnails.
+     *
+     * @param pictureName     The object name of the replaced profile picture.
+     * @param replacementName The object name of the profile picture replacing it.
+     */
+    void scheduleDeletion(String pictureName, String replacementName);
+
+    /**
+     * Cancels the pending deletion of the given profile picture and its thumbnails. Called before
+     * a picture is written under a name that may still be scheduled for deletion.
+     *
+     * @param pictureName The object name of the original profile picture.
+     */
+    void cancelDeletion(String pictureName);
+
+    /**
+     * Deletes a batch of due objects with a single storage batch request. Objects that could not
+     * be deleted are retried with an exponential backoff.
+     */
+    void deleteDueBlobs();
+}
@@ -1,6 +1,7 @@
 package com.internship.user_service.service;
 
 import java.util.List;
+import java.util.Set;
 
 public interface BlockService {
     /**
@@ -33,5 +34,23 @@ public interface BlockService {
      */
     boolean blockExists(Long userId, Long blockedUserId);
 
+    /**
+     * Returns the subset of the given candidates that have a block relationship with the user
+     * with the given {@code userId} in either direction, using a single query.
+     *
+     * @param userId       The ID of the user for whom the candidates are checked.
+     * @param candidateIds The IDs of the candidate users.
+     * @return The IDs of the candidates that blocked, or are blocked by, the user.
+     */
+    Set<Long> getBlockedCandidates(Long userId, Set<Long> candidateIds);
+
+    /**
+     * Retrieves a page of IDs of the users blocked by the user with the given {@code blockingUserId}.
+     *
+     * @param blockingUserId The ID of the user whose blocked users are to be retrieved.
+     * @param page           The page number, starting from 0.
+     * @param pageSize       The number of blocked users to be retrieved per page.
+     * @return A list of IDs of blocked users.
+     */
     List<Long> getBlockedUsersByUserId(Long blockingUserId, int page, int pageSize);
 }
@@ -1,6 +1,7 @@
 package com.internship.user_service.service;
 
 import com.internship.user_service.dto.FavoriteResponse;
+import com.internship.user_service.dto.UserResponse;
 
 import java.util.List;
 
@@ -40,4 +41,15 @@ public interface FavoriteService {
      * @return A list of IDs of favorite users.
      */
     List<Long> getFavoriteUsers(Long userId, int page, int pageSize);
+
+    /**
+     * Retrieves a page of favorite users for the given {@code userId}, with the details of each
+     * favorite user loaded in the same query.
+     *
+     * @param userId     The ID of the user whose favorite users are to be retrieved.
+     * @param page       The page number, starting from 0.
+     * @param pageSize   The number of favorite users to be retrieved per page.
+     * @return A list of favorite users.
+     */
+    List<UserResponse> getFavoriteUserDetails(Long userId, int page, int pageSize);
 }
@@ -2,6 +2,8 @@ package com.internship.user_service.service;
 
 
 import com.internship.user_service.dto.PreferencesDTO;
+import com.internship.user_service.dto.PreferencesPageResponse;
+import com.internship.user_service.enums.JobCategory;
 import com.internship.user_service.exception.ConflictException;
 import com.internship.user_service.exception.UserNotFoundException;
 
@@ -46,4 +48,22 @@ public interface PreferenceService {
      * @throws UserNotFoundException If the user does not exist.
      */
     PreferencesDTO getPreferences(Long userId);
+
+    /**
+     * Returns one page of the preferences that include the given category, ordered by user ID,
+     * using the ID of the last user of the previous page as the cursor. Preferences that include
+     * {@link JobCategory#ALL} are open to every category and are always included. With the
+     * {@code BITMASK} category storage no index serves the category filter, and pages of rarely
+     * wanted categories scan most of the preferences.
+     *
+     * @param category      The wanted category.
+     * @param maxDistance   The largest preferred distance to include, or {@code null} for any.
+     * @param minExperience The smallest preferred experience to include, or {@code null} for any.
+     * @param after         The ID of the last user of the previous page, or {@code null} for the first page.
+     * @param size          The page size, or {@code null} for the configured default.
+     * @return The page of preferences together with the cursor for the next page.
+     * @throws IllegalArgumentException if the page size is outside the allowed range.
+     */
+    PreferencesPageResponse searchPreferences(JobCategory category, Double maxDistance, Integer minExperience,
+                                              Long after, Integer size);
 }
@@ -0,0 +1,18 @@
+package com.internship.user_service.service;
+
+import com.internship.user_service.enums.PictureSize;
+
+public interface ThumbnailService {
+
+    /**
+     * Schedules the generation of the {@link PictureSize#THUMBNAILS} of the given profile picture
+     * on a bounded background executor.
+     * <p>
+     * If the executor is saturated the thumbnails are skipped and the original picture is served
+     * for every size.
+     *
+     * @param pictureName The object name of the original profile picture.
+     * @param generation  The generation of the uploaded original.
+     */
+    void generateThumbnails(String pictureName, Long generation);
+}
@@ -0,0 +1,34 @@
+package com.internship.user_service.service;
+
+import com.internship.user_service.enums.UserEventType;
+
+import java.util.Map;
+
+public interface UserEventService {
+
+    /**
+     * Records a user change event in the outbox. Must be called inside the transaction that makes
+     * the change, so the event is published if and only if the change is committed.
+     *
+     * @param type    The kind of change.
+     * @param userId  The ID of the changed user.
+     * @param payload The state of the user after the change, serialized to JSON, or {@code null}.
+     */
+    void record(UserEventType type, Long userId, Object payload);
+
+    /**
+     * Records one event of the same kind for every given user with a single JDBC batch, for bulk
+     * changes. Like {@link #record}, must be called inside the transaction that makes the changes.
+     *
+     * @param type     The kind of change.
+     * @param payloads The state of every changed user after the change, keyed by user ID.
+     */
+    void recordAll(UserEventType type, Map<Long, ?> payloads);
+
+    /**
+     * Publishes the oldest recorded events to the user events exchange in one batch, and removes
+     * them from the outbox once the broker has confirmed them. Events that could not be published
+     * stay in the outbox and are retried on the next run, so every event is delivered at least once.
+     */
+    void relayEvents();
+}
@@ -0,0 +1,26 @@
+package com.internship.user_service.service;
+
+import com.internship.user_service.dto.ExportStatusResponse;
+import com.internship.user_service.exception.ConflictException;
+
+public interface UserExportService {
+
+    /**
+     * Starts exporting the users, preferences, wanted categories, favorites and blocks tables in the
+     * background, each into a gzip compressed newline delimited JSON file in the export directory.
+     * <p>
+     * Tables are read through read-only cursors and written in chunks, so memory use does not depend
+     * on the size of the tables. The position after every chunk is stored in a checkpoint file.
+     *
+     * @param resume Whether to continue the previous export after its last checkpoint instead of
+     *               starting over.
+     * @return The status of the started export.
+     * @throws ConflictException if an export is already running.
+     */
+    ExportStatusResponse startExport(boolean resume);
+
+    /**
+     * Returns the status and progress of the running or last export.
+     */
+    ExportStatusResponse getStatus();
+}
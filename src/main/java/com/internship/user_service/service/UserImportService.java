@@ -0,0 +1,26 @@
+package com.internship.user_service.service;
+
+import com.internship.user_service.dto.UserImportResponse;
+import com.internship.user_service.enums.ImportFormat;
+import com.internship.user_service.enums.ImportMode;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    /**
+     * Imports users from a stream of records, reading, validating and inserting them batch by batch
+     * so the whole input is never held in memory.
+     * <p>
+     * Every batch is written with one JDBC batch statement in its own transaction. Invalid records
+     * and records rejected by the database are reported and do not abort the import.
+     *
+     * @param input  The records, UTF-8 encoded.
+     * @param format The format of the records.
+     * @param mode   How records that conflict with existing users are treated.
+     * @return The number of imported, skipped and failed records, and the first errors.
+     * @throws IOException if the input can not be read.
+     */
+    UserImportResponse importUsers(InputStream input, ImportFormat format, ImportMode mode) throws IOException;
+}
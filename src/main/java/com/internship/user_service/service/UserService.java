@@ -1,12 +1,19 @@
 package com.internship.user_service.service;
 
 import com.internship.user_service.dto.AvailabilityDTO;
+import com.internship.user_service.dto.FreeSlotRequest;
 import com.internship.user_service.dto.ImageDTO;
 import com.internship.user_service.dto.UserDTO;
+import com.internship.user_service.dto.UserBatchResponse;
+import com.internship.user_service.dto.UserPageResponse;
 import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.dto.FreeSlotsResponse;
 import com.internship.user_service.exception.ServiceUnavailableException;
 import com.internship.user_service.dto.WorkingHoursRequest;
+import com.internship.user_service.enums.PictureSize;
+import com.internship.user_service.exception.InvalidTimeFormatException;
 import com.internship.user_service.exception.PictureNotFoundException;
+import com.internship.user_service.exception.PictureTooLargeException;
 import com.internship.user_service.exception.UserUnavailableException;
 import com.internship.user_service.exception.UserNotFoundException;
 import com.internship.user_service.model.Availability;
@@ -14,7 +21,10 @@ import com.internship.user_service.model.User;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface UserService {
 
@@ -34,6 +44,8 @@ public interface UserService {
      * @return A UserResponse containing the updated user information with the new profile picture path.
      * @throws UserNotFoundException if the user with the specified ID does not exist.
      * @throws PictureNotFoundException if the file is empty or not a valid image type.
+     * @throws PictureTooLargeException if the file is larger than the configured maximum picture size.
+     * @throws ServiceUnavailableException if the uploaded picture can not be found in the storage service.
      */
     UserResponse addProfilePicture(Long id, MultipartFile file) throws IOException;
 
@@ -52,16 +64,31 @@ public interface UserService {
     /**
      * Retrieves the profile picture of the user with the specified ID.
      * <p>
-     * If the user does not have a profile picture, an empty image will be returned.
+     * Only the metadata is read from storage; the returned image is streamed when it is written
+     * and always reads the generation the ETag was computed from.
      * </p>
      *
      * @param userId The ID of the user whose profile picture is to be retrieved.
-     * @return An ImageDTO containing the profile picture of the user.
+     * @return An ImageDTO containing the profile picture of the user, its media type and its ETag.
      * @throws UserNotFoundException if the user with the specified ID does not exist.
      * @throws ServiceUnavailableException if there is an error accessing the storage service.
      */
     ImageDTO getProfilePicture(Long userId);
 
+    /**
+     * Retrieves the profile picture of the user with the specified ID in the given size.
+     * <p>
+     * If the thumbnail of the requested size has not been created yet, the original is returned.
+     * </p>
+     *
+     * @param userId The ID of the user whose profile picture is to be retrieved.
+     * @param size   The size of the picture.
+     * @return An ImageDTO containing the profile picture of the user, its media type and its ETag.
+     * @throws UserNotFoundException if the user with the specified ID does not exist.
+     * @throws ServiceUnavailableException if there is an error accessing the storage service.
+     */
+    ImageDTO getProfilePicture(Long userId, PictureSize size);
+
     /**
      * Deletes the profile picture with the specified name.
      *
@@ -80,13 +107,46 @@ public interface UserService {
      */
     UserResponse getUser(Long id);
 
+    /**
+     * Returns the users with the given IDs, loaded with a single query.
+     * <p>
+     * Duplicate IDs are returned once. The users keep the order of the requested IDs and
+     * the IDs without a matching user are listed separately.
+     *
+     * @param ids The IDs of the users to be retrieved.
+     * @return The found users and the IDs that were not found.
+     */
+    UserBatchResponse getUsers(List<Long> ids);
+
     /**
      * Retrieves all users from the repository.
+     * <p>
+     * The whole table is loaded into memory, so prefer {@link #getUsersPage(Long, Integer)}
+     * or {@link #streamAllUsers(Consumer)} for anything but small data sets.
      *
      * @return A list of UserResponse objects representing all users.
      */
     List<UserResponse> getAllUsers();
 
+    /**
+     * Retrieves one page of users ordered by ID, using the ID of the last user of the
+     * previous page as the cursor.
+     *
+     * @param after The ID of the last user of the previous page, or {@code null} for the first page.
+     * @param size  The page size, or {@code null} for the configured default.
+     * @return The page of users together with the cursor for the next page.
+     * @throws IllegalArgumentException if the page size is outside the allowed range.
+     */
+    UserPageResponse getUsersPage(Long after, Integer size);
+
+    /**
+     * Passes every user, ordered by ID, to the given consumer while reading them from a
+     * database cursor, so memory usage does not depend on the size of the table.
+     *
+     * @param consumer The consumer receiving each user.
+     */
+    void streamAllUsers(Consumer<UserResponse> consumer);
+
     /**
      * Retrieves all availabilities for the user with the specified ID.
      * <p>
@@ -109,6 +169,19 @@ public interface UserService {
      */
     void addAvailabilityToTheUser(AvailabilityDTO availabilityDTO);
 
+    /**
+     * Returns the free intervals of the requested workers within the requested time window,
+     * based on their working hours and busy slots, loaded with a single query.
+     * <p>
+     * Workers that do not exist are returned as missing IDs instead.
+     *
+     * @param request The worker IDs and the time window.
+     * @return The free intervals per worker, ordered by worker ID, and the IDs of the missing workers.
+     * @throws InvalidTimeFormatException if the start time is not before the end time.
+     * @throws IllegalArgumentException if the time window is longer than {@link FreeSlotRequest#MAX_WINDOW}.
+     */
+    FreeSlotsResponse getFreeSlots(FreeSlotRequest request);
+
     /**
      * Undo the creation of the user with the given ID.
      *
@@ -118,6 +191,15 @@ public interface UserService {
      */
     Boolean undoUserCreation(Long id);
 
+    /**
+     * Deletes the users with the given IDs with one set-based statement, and schedules the deletion
+     * of their profile pictures from storage. IDs of users that do not exist are ignored.
+     *
+     * @param ids The IDs of the users to be deleted.
+     * @return The IDs of the users that have been deleted.
+     */
+    Set<Long> deleteUsers(Collection<Long> ids);
+
     /**
      * Edits the user with the given ID, using the provided UserDTO object.
      * <p>
@@ -141,6 +223,16 @@ public interface UserService {
      */
     User getUserEntity(Long userId);
 
+    /**
+     * Checks that the user with the given ID exists, without loading it from the repository.
+     * <p>
+     * This method is used for internal service use only and should not be used from the outside.
+     *
+     * @param userId The ID of the user to be checked.
+     * @throws UserNotFoundException if the user with the specified ID does not exist.
+     */
+    void verifyUserExists(Long userId);
+
     /**
      * Checks if a user with the given phone number exists in the repository.
      * <p>
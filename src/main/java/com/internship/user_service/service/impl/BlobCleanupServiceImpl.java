@@ -0,0 +1,150 @@
+package com.internship.user_service.service.impl;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageBatch;
+import com.google.cloud.storage.StorageBatchResult;
+import com.google.cloud.storage.StorageException;
+import com.internship.user_service.cache.ProfilePictureCache;
+import com.internship.user_service.enums.PictureSize;
+import com.internship.user_service.model.BlobCleanupTask;
+import com.internship.user_service.repository.BlobCleanupTaskRepository;
+import com.internship.user_service.service.BlobCleanupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class BlobCleanupServiceImpl implements BlobCleanupService {
+
+    private final Storage storage;
+    private final BlobCleanupTaskRepository blobCleanupTaskRepository;
+    private final ProfilePictureCache profilePictureCache;
+    private final String bucketName;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public BlobCleanupServiceImpl(Storage storage,
+                                  BlobCleanupTaskRepository blobCleanupTaskRepository,
+                                  ProfilePictureCache profilePictureCache,
+                                  @Value("${gcs.bucket.name}") String bucketName,
+                                  @Value("${configs.pictures.cleanup.batch-size:100}") int batchSize,
+                                  @Value("${configs.pictures.cleanup.initial-backoff:1m}") Duration initialBackoff,
+                                  @Value("${configs.pictures.cleanup.max-backoff:1h}") Duration maxBackoff) {
+        this.storage = storage;
+        this.blobCleanupTaskRepository = blobCleanupTaskRepository;
+        this.profilePictureCache = profilePictureCache;
+        this.bucketName = bucketName;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public void scheduleDeletion(String pictureName) {
+        scheduleDeletion(pictureName, null);
+    }
+
+    @Override
+    public void scheduleDeletion(String pictureName, String replacementName) {
+        if (!StringUtils.hasText(pictureName)) {
+            return;
+        }
+
+        List<String> kept = StringUtils.hasText(replacementName) ? objectNames(replacementName) : List.of();
+        LocalDateTime now = LocalDateTime.now();
+        List<BlobCleanupTask> tasks = objectNames(pictureName).stream()
+                .filter(objectName -> !kept.contains(objectName))
+                .map(objectName -> BlobCleanupTask.builder()
+                        .objectName(objectName)
+                        .nextAttemptAt(now)
+                        .build())
+                .toList();
+        blobCleanupTaskRepository.saveAll(tasks);
+        tasks.forEach(task -> profilePictureCache.invalidate(task.getObjectName()));
+
+        log.info("Profile picture {} scheduled for deletion.", pictureName);
+    }
+
+    @Override
+    public void cancelDeletion(String pictureName) {
+        int cancelled = blobCleanupTaskRepository.deleteByObjectNameIn(objectNames(pictureName));
+        if (cancelled > 0) {
+            log.info("Cancelled {} pending deletions of profile picture {}.", cancelled, pictureName);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${configs.pictures.cleanup.interval:30s}",
+            initialDelayString = "${configs.pictures.cleanup.interval:30s}")
+    public void deleteDueBlobs() {
+        List<BlobCleanupTask> tasks = blobCleanupTaskRepository.findDueForUpdate(LocalDateTime.now(), Limit.of(batchSize));
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        StorageBatch batch = storage.batch();
+        Map<BlobCleanupTask, StorageBatchResult<Boolean>> results = new LinkedHashMap<>();
+        for (BlobCleanupTask task : tasks) {
+            results.put(task, batch.delete(BlobId.of(bucketName, task.getObjectName())));
+        }
+
+        try {
+            batch.submit();
+        } catch (StorageException e) {
+            log.error("Storage batch delete of {} objects failed.", tasks.size(), e);
+            tasks.forEach(this::retryLater);
+            return;
+        }
+
+        List<BlobCleanupTask> completed = new ArrayList<>();
+        results.forEach((task, result) -> {
+            try {
+                // false means the object was already gone, which is just as good
+                result.get();
+                completed.add(task);
+            } catch (StorageException e) {
+                log.warn("Could not delete object {}, attempt {}: {}", task.getObjectName(), task.getAttempts() + 1, e.getMessage());
+                retryLater(task);
+            }
+        });
+
+        blobCleanupTaskRepository.deleteAllInBatch(completed);
+        log.info("Deleted {} of {} due objects from storage.", completed.size(), tasks.size());
+    }
+
+    private void retryLater(BlobCleanupTask task) {
+        task.setAttempts(task.getAttempts() + 1);
+        task.setNextAttemptAt(LocalDateTime.now().plus(backoff(task.getAttempts())));
+    }
+
+    /**
+     * Returns the initial backoff doubled for every failed attempt after the first, capped at the
+     * maximum backoff.
+     */
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static List<String> objectNames(String pictureName) {
+        List<String> names = new ArrayList<>();
+        names.add(pictureName);
+        PictureSize.THUMBNAILS.forEach(size -> names.add(size.objectName(pictureName)));
+        return names;
+    }
+}
@@ -1,5 +1,6 @@
 package com.internship.user_service.service.impl;
 
+import com.internship.user_service.cache.RelationshipIndex;
 import com.internship.user_service.exception.AlreadyExistsException;
 import com.internship.user_service.model.*;
 import com.internship.user_service.repository.BlockRepository;
@@ -9,13 +10,13 @@ import com.internship.user_service.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -23,6 +24,7 @@ import java.util.List;
 public class BlockServiceImpl implements BlockService {
     private final BlockRepository blockRepository;
     private final UserService userService;
+    private final RelationshipIndex relationshipIndex;
 
     @Lazy
     private final FavoriteService favoriteService;
@@ -51,6 +53,7 @@ public class BlockServiceImpl implements BlockService {
         log.info("Block with userId {} and blockedUserId {} added successfully.",
                 block.getId().getBlockingUserId(),
                 block.getId().getBlockedUserId());
+        relationshipIndex.getBlocks().recordAdded(userId, blockedUserId);
 
         // Remove blockedUser from favorites if it was favorited by user
         if (favoriteService.favoriteExists(userId, blockedUserId)) {
@@ -75,20 +78,42 @@ public class BlockServiceImpl implements BlockService {
 
         // Delete block user
         blockRepository.deleteById(new BlockId(userId, blockedUserId));
+        relationshipIndex.getBlocks().recordRemoved(userId, blockedUserId);
         log.info("Block with userId {} and blockedUserId {} deleted successfully.", userId, blockedUserId);
     }
 
     public boolean blockExists(Long userId, Long blockedUserId) {
-        BlockId blockId = new BlockId(userId, blockedUserId);
-        return blockRepository.existsById(blockId);
+        return relationshipIndex.getBlocks().contains(userId, blockedUserId,
+                blockRepository::findBlockedUserIdsByBlockingUserId,
+                () -> blockRepository.existsById(new BlockId(userId, blockedUserId)));
+    }
+
+    @Override
+    public Set<Long> getBlockedCandidates(Long userId, Set<Long> candidateIds) {
+        if (userId == null) {
+            log.error("Invalid userId {}.", userId);
+            throw new IllegalArgumentException("Invalid userId.");
+        }
+
+        if (candidateIds.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> blockedCandidates = new HashSet<>(blockRepository.findBlockedCandidateIds(userId, candidateIds));
+        log.info("Found {} blocked users among {} candidates for user with userId {}.",
+                blockedCandidates.size(), candidateIds.size(), userId);
+        return blockedCandidates;
     }
 
     @Override
     public List<Long> getBlockedUsersByUserId(Long blockingUserId, int page, int pageSize) {
 
-        User user = userService.getUserEntity(blockingUserId);
+        // Check if the user exists
+        userService.verifyUserExists(blockingUserId);
 
-        List<Long> blockedUsers = getBlockedUsersPage(user, page, pageSize).getContent();
+        // Retrieve blocked user IDs
+        List<Long> blockedUsers = blockRepository
+                .findBlockedUserIdsByBlockingUserId(blockingUserId, PageRequest.of(page, pageSize));
 
         if (blockedUsers.isEmpty()) {
             log.info("User with userId {} has not blocked any users.", blockingUserId);
@@ -116,12 +141,4 @@ public class BlockServiceImpl implements BlockService {
             throw new IllegalArgumentException("Invalid userId or blockedUserId.");
         }
     }
-
-    private Page<Long> getBlockedUsersPage(User user, int page, int pageSize) {
-        Pageable pageable = PageRequest.of(page, pageSize);
-        return blockRepository
-                .findByBlockingUser(user, pageable)
-                .map(Block::getId)
-                .map(BlockId::getBlockedUserId);
-    }
 }
@@ -0,0 +1,54 @@
+package com.internship.user_service.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a single CSV line into its fields.
+ * <p>
+ * Fields are separated by commas and may be enclosed in double quotes, in which case they can
+ * contain commas and doubled quotes. Records spanning several lines are not supported.
+ */
+final class CsvRecordParser {
+
+    private CsvRecordParser() {
+    }
+
+    /**
+     * Returns the fields of the given line, with surrounding quotes removed.
+     *
+     * @throws IllegalArgumentException if a quoted field is not closed.
+     */
+    static List<String> parse(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -1,5 +1,6 @@
 package com.internship.user_service.service.impl;
 
+import com.internship.user_service.cache.RelationshipIndex;
 import com.internship.user_service.dto.FavoriteResponse;
 import com.internship.user_service.dto.UserResponse;
 import com.internship.user_service.exception.AlreadyExistsException;
@@ -14,9 +15,7 @@ import com.internship.user_service.service.FavoriteService;
 import com.internship.user_service.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -27,17 +26,20 @@ import java.util.List;
 public class FavoriteServiceImpl implements FavoriteService {
     private final FavoriteRepository favoriteRepository;
     private final FavoriteMapper favoriteMapper;
+    private final UserMapper userMapper;
 
     private final UserService userService;
     private final BlockService blockService;
+    private final RelationshipIndex relationshipIndex;
 
     @Override
     public List<Long> getFavoriteUsers(Long userId, int page, int pageSize) {
-        // Retrieve the user if it exists
-        User user = userService.getUserEntity(userId);
+        // Check if the user exists
+        userService.verifyUserExists(userId);
 
-        // Retrieve favorite users
-        List<Long> favoriteUsers = getFavoriteUsersPage(user, page, pageSize).getContent();
+        // Retrieve favorite user IDs
+        List<Long> favoriteUsers = favoriteRepository
+                .findFavoriteUserIdsByUserId(userId, PageRequest.of(page, pageSize));
 
         // If there are no favorite users, return empty list
         if (favoriteUsers.isEmpty()) {
@@ -50,6 +52,22 @@ public class FavoriteServiceImpl implements FavoriteService {
         return favoriteUsers;
     }
 
+    @Override
+    public List<UserResponse> getFavoriteUserDetails(Long userId, int page, int pageSize) {
+        // Check if the user exists
+        userService.verifyUserExists(userId);
+
+        // Retrieve favorite users with a single join query
+        List<UserResponse> favoriteUsers = favoriteRepository
+                .findFavoriteUsersByUserId(userId, PageRequest.of(page, pageSize))
+                .stream()
+                .map(userMapper::toUserResponse)
+                .toList();
+
+        log.info("Retrieved {} favorite user details for user with userId {}.", favoriteUsers.size(), userId);
+        return favoriteUsers;
+    }
+
     @Override
     public FavoriteResponse addFavorite(Long userId, Long favoriteUserId) {
         // Check if userId and favoriteUserId are valid
@@ -79,6 +97,7 @@ public class FavoriteServiceImpl implements FavoriteService {
         log.info("Favorite with userId {} and favoriteUserId {} added successfully.",
                 favorite.getId().getUserId(),
                 favorite.getId().getFavoriteUserId());
+        relationshipIndex.getFavorites().recordAdded(userId, favoriteUserId);
         return favoriteMapper.toResponse(favorite);
     }
 
@@ -99,13 +118,15 @@ public class FavoriteServiceImpl implements FavoriteService {
 
         // Delete favorite user
         favoriteRepository.deleteById(new FavoriteId(userId, favoriteUserId));
+        relationshipIndex.getFavorites().recordRemoved(userId, favoriteUserId);
         log.info("Favorite with userId {} and favoriteUserId {} deleted successfully.", userId, favoriteUserId);
     }
 
     @Override
     public boolean favoriteExists(Long userId, Long favoriteUserId) {
-        FavoriteId favoriteId = new FavoriteId(userId, favoriteUserId);
-        return favoriteRepository.existsById(favoriteId);
+        return relationshipIndex.getFavorites().contains(userId, favoriteUserId,
+                favoriteRepository::findFavoriteUserIdsByUserId,
+                () -> favoriteRepository.existsById(new FavoriteId(userId, favoriteUserId)));
     }
 
     /**
@@ -124,26 +145,4 @@ public class FavoriteServiceImpl implements FavoriteService {
             throw new IllegalArgumentException("Invalid userId or favoriteUserId.");
         }
     }
-
-    /**
-     * Retrieves a page of users who are favorites of the given {@code user}.
-     * <p>
-     * The page size is determined by the given {@code pageSize}, and the page number
-     * is determined by the given {@code page}.
-     * <p>
-     * The returned page contains the favorite users mapped from the page of
-     * {@link Favorite} objects returned by the repository.
-     *
-     * @param user     The user whose favorite users are to be retrieved.
-     * @param page     The page number.
-     * @param pageSize The page size.
-     * @return A page of favorite users.
-     */
-    private Page<Long> getFavoriteUsersPage(User user, int page, int pageSize) {
-        Pageable pageable = PageRequest.of(page, pageSize);
-        return favoriteRepository
-                .findByUser(user, pageable)
-                .map(Favorite::getId)
-                .map(FavoriteId::getFavoriteUserId);
-    }
-}
\ No newline at end of file
+}
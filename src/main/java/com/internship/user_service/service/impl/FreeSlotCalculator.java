@@ -0,0 +1,115 @@
+package com.internship.user_service.service.impl;
+
+import com.internship.user_service.dto.TimeSlotDTO;
+import com.internship.user_service.dto.WorkerFreeSlotsResponse;
+import com.internship.user_service.repository.projection.WorkerBusySlotView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Computes the free intervals of workers from their working hours and busy slots.
+ * <p>
+ * Expects the rows ordered by worker and busy slot start, as returned by
+ * {@link com.internship.user_service.repository.UserRepository#findWorkingHoursAndBusySlots},
+ * and merges them in a single pass without sorting or copying.
+ */
+final class FreeSlotCalculator {
+
+    private FreeSlotCalculator() {
+    }
+
+    /**
+     * Returns the free intervals of every worker present in {@code rows}, clipped to
+     * {@code [startTime, endTime)}.
+     * <p>
+     * Working hours that end at or before they start are treated as an overnight shift.
+     * Workers without working hours are considered to work during the whole window.
+     */
+    static List<WorkerFreeSlotsResponse> calculate(List<WorkerBusySlotView> rows,
+                                                   LocalDateTime startTime,
+                                                   LocalDateTime endTime) {
+        List<WorkerFreeSlotsResponse> result = new ArrayList<>();
+
+        int first = 0;
+        while (first < rows.size()) {
+            WorkerBusySlotView worker = rows.get(first);
+            int last = first;
+            while (last < rows.size() && rows.get(last).getWorkerId().equals(worker.getWorkerId())) {
+                last++;
+            }
+
+            // A worker without busy slots comes back as a single row with null busy times
+            int firstBusy = worker.getBusyStart() == null ? last : first;
+            result.add(WorkerFreeSlotsResponse.builder()
+                    .workerId(worker.getWorkerId())
+                    .freeSlots(freeSlots(rows, firstBusy, last, worker.getWorkStart(), worker.getWorkEnd(),
+                            startTime, endTime))
+                    .build());
+            first = last;
+        }
+
+        return result;
+    }
+
+    private static List<TimeSlotDTO> freeSlots(List<WorkerBusySlotView> rows, int firstBusy, int lastBusy,
+                                               LocalTime workStart, LocalTime workEnd,
+                                               LocalDateTime startTime, LocalDateTime endTime) {
+        List<TimeSlotDTO> freeSlots = new ArrayList<>();
+
+        if (workStart == null || workEnd == null) {
+            addFreeSlots(rows, firstBusy, lastBusy, startTime, endTime, freeSlots);
+            return freeSlots;
+        }
+
+        // Start a day early so an overnight shift that began the day before is included
+        int busy = firstBusy;
+        for (LocalDate day = startTime.toLocalDate().minusDays(1);
+             !day.isAfter(endTime.toLocalDate());
+             day = day.plusDays(1)) {
+            LocalDateTime shiftStart = day.atTime(workStart);
+            LocalDateTime shiftEnd = workEnd.isAfter(workStart) ? day.atTime(workEnd) : day.plusDays(1).atTime(workEnd);
+
+            LocalDateTime windowStart = shiftStart.isAfter(startTime) ? shiftStart : startTime;
+            LocalDateTime windowEnd = shiftEnd.isBefore(endTime) ? shiftEnd : endTime;
+            if (windowStart.isBefore(windowEnd)) {
+                busy = addFreeSlots(rows, busy, lastBusy, windowStart, windowEnd, freeSlots);
+            }
+        }
+
+        return freeSlots;
+    }
+
+    /**
+     * Adds the gaps between the busy slots inside {@code [windowStart, windowEnd)} and returns the
+     * index of the first busy slot that may still overlap a later window.
+     */
+    private static int addFreeSlots(List<WorkerBusySlotView> rows, int firstBusy, int lastBusy,
+                                    LocalDateTime windowStart, LocalDateTime windowEnd,
+                                    List<TimeSlotDTO> freeSlots) {
+        int busy = firstBusy;
+        while (busy < lastBusy && !rows.get(busy).getBusyEnd().isAfter(windowStart)) {
+            busy++;
+        }
+
+        LocalDateTime cursor = windowStart;
+        for (int i = busy; i < lastBusy && rows.get(i).getBusyStart().isBefore(windowEnd); i++) {
+            WorkerBusySlotView slot = rows.get(i);
+            if (slot.getBusyStart().isAfter(cursor)) {
+                freeSlots.add(new TimeSlotDTO(cursor, slot.getBusyStart()));
+            }
+            if (slot.getBusyEnd().isAfter(cursor)) {
+                cursor = slot.getBusyEnd();
+            }
+        }
+
+        if (cursor.isBefore(windowEnd)) {
+            freeSlots.add(new TimeSlotDTO(cursor, windowEnd));
+        }
+
+        return busy;
+    }
+}
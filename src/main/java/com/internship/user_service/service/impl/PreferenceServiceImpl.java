@@ -1,6 +1,10 @@
 package com.internship.user_service.service.impl;
 
+import com.internship.user_service.constants.CacheNames;
 import com.internship.user_service.dto.PreferencesDTO;
+import com.internship.user_service.dto.PreferencesPageResponse;
+import com.internship.user_service.enums.CategoryStorage;
+import com.internship.user_service.enums.JobCategory;
 import com.internship.user_service.exception.ConflictException;
 import com.internship.user_service.exception.UserNotFoundException;
 import com.internship.user_service.model.Preferences;
@@ -9,21 +13,49 @@ import com.internship.user_service.model.WantedCategory;
 import com.internship.user_service.model.WantedCategoryId;
 import com.internship.user_service.repository.PreferencesRepository;
 import com.internship.user_service.repository.UserRepository;
+import com.internship.user_service.repository.projection.PreferencesCategoryView;
+import com.internship.user_service.repository.projection.PreferencesMaskView;
 import com.internship.user_service.service.PreferenceService;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class PreferenceServiceImpl implements PreferenceService {
 
     private final UserRepository userRepository;
     private final PreferencesRepository preferencesRepository;
+    private final CategoryStorage categoryStorage;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PreferenceServiceImpl(UserRepository userRepository,
+                                 PreferencesRepository preferencesRepository,
+                                 @Value("${configs.preferences.wanted-categories.storage:TABLE}") CategoryStorage categoryStorage,
+                                 @Value("${configs.preferences.page.default-size:100}") int defaultPageSize,
+                                 @Value("${configs.preferences.page.max-size:1000}") int maxPageSize) {
+        this.userRepository = userRepository;
+        this.preferencesRepository = preferencesRepository;
+        this.categoryStorage = categoryStorage;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.PREFERENCES, key = CacheNames.AUTHENTICATED_USER_ID_KEY)
     public PreferencesDTO setPreferences(PreferencesDTO preferenceDTO) {
         Long userId = Long.parseLong((String) SecurityContextHolder.getContext().getAuthentication().getPrincipal());
 
@@ -37,17 +69,14 @@ public class PreferenceServiceImpl implements PreferenceService {
                 .user(user)
                 .preferredDistance(preferenceDTO.getPreferredDistance())
                 .preferredExperience(preferenceDTO.getPreferredExperience())
-                .wantedCategories(preferenceDTO.getWantedCategories().stream()
-                        .map(category -> WantedCategory.builder()
-                                .preferences(null)
-                                .wantedCategoryId(WantedCategoryId.builder()
-                                        .categoryId(category)
-                                        .build())
-                                .build())
-                        .toList())
+                .wantedCategoryMask(JobCategory.toMask(preferenceDTO.getWantedCategories()))
+                .wantedCategories(new ArrayList<>())
                 .build();
 
-        preferences.getWantedCategories().forEach(wc -> wc.setPreferences(preferences));
+        if (categoryStorage == CategoryStorage.TABLE) {
+            preferenceDTO.getWantedCategories()
+                    .forEach(category -> preferences.getWantedCategories().add(wantedCategory(preferences, category)));
+        }
 
         preferencesRepository.save(preferences);
 
@@ -56,6 +85,7 @@ public class PreferenceServiceImpl implements PreferenceService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.PREFERENCES, key = CacheNames.AUTHENTICATED_USER_ID_KEY)
     public PreferencesDTO updatePreferences(PreferencesDTO preferenceDTO) {
         Long userId = Long.parseLong((String) SecurityContextHolder.getContext().getAuthentication().getPrincipal());
 
@@ -65,18 +95,19 @@ public class PreferenceServiceImpl implements PreferenceService {
         preferences.setPreferredDistance(preferenceDTO.getPreferredDistance());
         preferences.setPreferredExperience(preferenceDTO.getPreferredExperience());
 
-        preferences.getWantedCategories().clear();
+        preferences.setWantedCategoryMask(JobCategory.toMask(preferenceDTO.getWantedCategories()));
 
-        preferenceDTO.getWantedCategories().forEach(category -> {
-            WantedCategory wantedCategory = WantedCategory.builder()
-                    .preferences(preferences)
-                    .wantedCategoryId(WantedCategoryId.builder()
-                            .categoryId(category)
-                            .preferencesId(preferences.getId())
-                            .build())
-                    .build();
-            preferences.getWantedCategories().add(wantedCategory);
-        });
+        if (categoryStorage == CategoryStorage.TABLE) {
+            // Only the rows of added and removed categories are written
+            Set<JobCategory> wanted = EnumSet.noneOf(JobCategory.class);
+            wanted.addAll(preferenceDTO.getWantedCategories());
+            preferences.getWantedCategories()
+                    .removeIf(wantedCategory -> !wanted.remove(wantedCategory.getWantedCategoryId().getCategory()));
+            wanted.forEach(category -> preferences.getWantedCategories().add(wantedCategory(preferences, category)));
+        } else {
+            // Rows written before the switch would no longer match the mask, they are removed as orphans
+            preferences.getWantedCategories().clear();
+        }
 
         preferencesRepository.save(preferences);
 
@@ -84,19 +115,92 @@ public class PreferenceServiceImpl implements PreferenceService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.PREFERENCES, key = "#userId", sync = true)
     public PreferencesDTO getPreferences(Long userId) {
-
-        Preferences preferences = preferencesRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found."));
+        if (categoryStorage == CategoryStorage.BITMASK) {
+            PreferencesMaskView preferences = preferencesRepository.findMaskViewByUserId(userId)
+                    .orElseThrow(() -> new UserNotFoundException("User not found."));
+
+            // Preferences that were not migrated yet still have their categories in rows only
+            if (preferences.getWantedCategoryMask() != null) {
+                return PreferencesDTO.builder()
+                        .userId(preferences.getUserId())
+                        .preferredDistance(preferences.getPreferredDistance())
+                        .preferredExperience(preferences.getPreferredExperience())
+                        .wantedCategories(JobCategory.fromMask(preferences.getWantedCategoryMask()))
+                        .build();
+            }
+        }
+
+        List<PreferencesCategoryView> rows = preferencesRepository.findViewsByUserId(userId);
+        if (rows.isEmpty()) {
+            throw new UserNotFoundException("User not found.");
+        }
+
+        PreferencesCategoryView preferences = rows.get(0);
 
         return PreferencesDTO.builder()
-                .userId(preferences.getUser().getId())
+                .userId(preferences.getUserId())
                 .preferredDistance(preferences.getPreferredDistance())
                 .preferredExperience(preferences.getPreferredExperience())
-                .wantedCategories(preferences.getWantedCategories().stream()
-                        .map(WantedCategory::getWantedCategoryId)
-                        .map(WantedCategoryId::getCategoryId)
-                        .toList())
+                .wantedCategories(wantedCategories(rows))
+                .build();
+    }
+
+    @Override
+    public PreferencesPageResponse searchPreferences(JobCategory category, Double maxDistance, Integer minExperience,
+                                                     Long after, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            log.error("Invalid page size {}.", pageSize);
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize + ".");
+        }
+
+        long afterId = after == null ? Long.MIN_VALUE : after;
+        double distance = maxDistance == null ? Double.MAX_VALUE : maxDistance;
+        int experience = minExperience == null ? Integer.MIN_VALUE : minExperience;
+
+        // Users wanting ALL are open to every category, so they match every search.
+        // Fetch one extra row to find out whether there is a next page
+        List<PreferencesMaskView> rows = categoryStorage == CategoryStorage.TABLE
+                ? preferencesRepository.findPageByWantedCategory(List.of(category.getId(), JobCategory.ALL.getId()),
+                        afterId, distance, experience, Limit.of(pageSize + 1))
+                : preferencesRepository.findPageByWantedCategoryMask(category.bit() | JobCategory.ALL.bit(),
+                        afterId, distance, experience, Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<PreferencesDTO> page = rows.stream()
+                .limit(pageSize)
+                .map(row -> PreferencesDTO.builder()
+                        .userId(row.getUserId())
+                        .preferredDistance(row.getPreferredDistance())
+                        .preferredExperience(row.getPreferredExperience())
+                        // Preferences that were not migrated yet still have their categories in rows only
+                        .wantedCategories(row.getWantedCategoryMask() == null
+                                ? wantedCategories(preferencesRepository.findViewsByUserId(row.getUserId()))
+                                : JobCategory.fromMask(row.getWantedCategoryMask()))
+                        .build())
+                .toList();
+
+        log.info("Found {} preferences wanting {} after user id {}.", page.size(), category, after);
+        return PreferencesPageResponse.builder()
+                .preferences(page)
+                .nextCursor(hasNext ? rows.get(pageSize - 1).getUserId() : null)
+                .build();
+    }
+
+    private static List<JobCategory> wantedCategories(List<PreferencesCategoryView> rows) {
+        return rows.stream()
+                .map(PreferencesCategoryView::getCategory)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static WantedCategory wantedCategory(Preferences preferences, JobCategory category) {
+        return WantedCategory.builder()
+                .preferences(preferences)
+                .wantedCategoryId(WantedCategoryId.of(category, preferences.getId()))
                 .build();
     }
 }
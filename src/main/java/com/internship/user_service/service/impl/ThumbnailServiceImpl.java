@@ -0,0 +1,188 @@
+package com.internship.user_service.service.impl;
+
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
+import com.internship.user_service.cache.ProfilePictureCache;
+import com.internship.user_service.enums.PictureSize;
+import com.internship.user_service.service.ThumbnailService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.internship.user_service.constants.FilePath.PNG;
+
+@Slf4j
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService {
+
+    private static final int MAX_THUMBNAIL_PIXELS = PictureSize.THUMBNAILS.stream()
+            .mapToInt(PictureSize::getPixels)
+            .max()
+            .orElse(0);
+
+    private final Storage storage;
+    private final ProfilePictureCache profilePictureCache;
+    private final String bucketName;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+
+    public ThumbnailServiceImpl(Storage storage,
+                                ProfilePictureCache profilePictureCache,
+                                @Value("${gcs.bucket.name}") String bucketName,
+                                @Value("${configs.pictures.thumbnails.threads:2}") int threads,
+                                @Value("${configs.pictures.thumbnails.queue-capacity:100}") int queueCapacity,
+                                @Value("${configs.pictures.thumbnails.max-pixels:50000000}") long maxPixels) {
+        this.storage = storage;
+        this.profilePictureCache = profilePictureCache;
+        this.bucketName = bucketName;
+        this.maxPixels = maxPixels;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("thumbnail-"));
+    }
+
+    @Override
+    public void generateThumbnails(String pictureName, Long generation) {
+        try {
+            executor.execute(() -> createThumbnails(pictureName, generation));
+        } catch (RejectedExecutionException e) {
+            log.warn("Thumbnail queue is full, profile picture {} will only be served in its original size.", pictureName);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Reads the given generation of the original picture, and writes a square, center-cropped
+     * thumbnail for every {@link PictureSize#THUMBNAILS} size. Pictures are never scaled up.
+     * <p>
+     * Thumbnails are skipped if the original was replaced in the meantime, so a slow task can
+     * not overwrite the thumbnails of a newer picture.
+     */
+    void createThumbnails(String pictureName, Long generation) {
+        try {
+            BufferedImage original = decode(pictureName, storage.readAllBytes(BlobId.of(bucketName, pictureName, generation)));
+            if (original == null) {
+                return;
+            }
+
+            String format = PictureSize.thumbnailFormat(pictureName);
+            for (PictureSize size : PictureSize.THUMBNAILS) {
+                byte[] thumbnail = resize(original, size.getPixels(), format);
+
+                if (!isCurrent(pictureName, generation)) {
+                    log.info("Profile picture {} was replaced, skipping its remaining thumbnails.", pictureName);
+                    return;
+                }
+
+                String thumbnailName = size.objectName(pictureName);
+                storage.create(
+                        BlobInfo.newBuilder(BlobId.of(bucketName, thumbnailName))
+                                .setContentType(format.equals(PNG) ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE)
+                                .build(),
+                        thumbnail,
+                        Storage.BlobTargetOption.predefinedAcl(Storage.PredefinedAcl.PUBLIC_READ)
+                );
+                profilePictureCache.invalidate(thumbnailName);
+            }
+
+            log.info("Thumbnails created for profile picture {}.", pictureName);
+        } catch (IOException | StorageException e) {
+            log.error("Could not create thumbnails for profile picture {}.", pictureName, e);
+        }
+    }
+
+    /**
+     * Decodes the picture, or returns {@code null} if it is not a readable image or declares more
+     * than {@code max-pixels} pixels. The upload size limit does not bound the decoded size, so the
+     * dimensions are read from the header first, and large pictures are subsampled while decoding
+     * to about the largest thumbnail size instead of being decoded in full.
+     */
+    BufferedImage decode(String pictureName, byte[] content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                log.warn("Profile picture {} is not a readable image, no thumbnails created.", pictureName);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("Profile picture {} has {}x{} pixels, more than the {} allowed, no thumbnails created.",
+                            pictureName, width, height, maxPixels);
+                    return null;
+                }
+
+                // Keep the shorter side at least as large as the largest thumbnail
+                int period = Math.max(1, Math.min(width, height) / MAX_THUMBNAIL_PIXELS);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(period, period, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IIOException e) {
+            log.warn("Profile picture {} is not a readable image, no thumbnails created: {}", pictureName, e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean isCurrent(String pictureName, Long generation) {
+        Blob current = storage.get(BlobId.of(bucketName, pictureName));
+        return current != null && Objects.equals(current.getGeneration(), generation);
+    }
+
+    private static byte[] resize(BufferedImage original, int pixels, String format) throws IOException {
+        int side = Math.min(original.getWidth(), original.getHeight());
+        int target = Math.min(side, pixels);
+        int x = (original.getWidth() - side) / 2;
+        int y = (original.getHeight() - side) / 2;
+
+        // JPEG has no alpha channel
+        int type = format.equals(PNG) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage thumbnail = new BufferedImage(target, target, type);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, target, target, x, y, x + side, y + side, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, format, output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,157 @@
+package com.internship.user_service.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.enums.UserEventType;
+import com.internship.user_service.model.UserEvent;
+import com.internship.user_service.rabbitmq.UserEventMessage;
+import com.internship.user_service.repository.UserEventRepository;
+import com.internship.user_service.service.UserEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Service
+public class UserEventServiceImpl implements UserEventService {
+
+    private static final String INSERT_SQL = "INSERT INTO user_events (user_id, type, payload, created) VALUES (?, ?, ?, ?)";
+
+    private final UserEventRepository userEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AmqpTemplate amqpTemplate;
+    private final ObjectMapper objectMapper;
+    private final String exchange;
+    private final int batchSize;
+    private final boolean publisherConfirms;
+    private final Duration confirmTimeout;
+
+    public UserEventServiceImpl(UserEventRepository userEventRepository,
+                                JdbcTemplate jdbcTemplate,
+                                AmqpTemplate amqpTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${configs.rabbitmq.user-events.exchange:user-events}") String exchange,
+                                @Value("${configs.rabbitmq.user-events.batch-size:200}") int batchSize,
+                                @Value("${configs.rabbitmq.publisher.confirms:true}") boolean publisherConfirms,
+                                @Value("${configs.rabbitmq.user-events.confirm-timeout:10s}") Duration confirmTimeout) {
+        this.userEventRepository = userEventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.amqpTemplate = amqpTemplate;
+        this.objectMapper = objectMapper;
+        this.exchange = exchange;
+        this.batchSize = batchSize;
+        this.publisherConfirms = publisherConfirms;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserEventType type, Long userId, Object payload) {
+        userEventRepository.save(UserEvent.builder()
+                .type(type)
+                .userId(userId)
+                .payload(toJson(payload))
+                .build());
+    }
+
+    /**
+     * Inserts through JDBC because Hibernate can not batch inserts of entities with identity IDs.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(UserEventType type, Map<Long, ?> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        payloads.forEach((userId, payload) -> rows.add(new Object[]{userId, type.name(), toJson(payload), now}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${configs.rabbitmq.user-events.relay-interval:1s}")
+    public void relayEvents() {
+        List<UserEvent> events = userEventRepository.findOldestForUpdate(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if (publisherConfirms && amqpTemplate instanceof RabbitOperations rabbitOperations) {
+            publishConfirmed(rabbitOperations, events);
+        } else {
+            events.forEach(event -> amqpTemplate.convertAndSend(exchange, event.getType().getRoutingKey(), toMessage(event)));
+        }
+
+        userEventRepository.deleteAllInBatch(events);
+        log.info("Published {} user events.", events.size());
+    }
+
+    /**
+     * Sends the whole batch before waiting for the confirms, so the batch costs about one broker
+     * round trip instead of one per event. Any negative or missing confirm fails the batch, which
+     * rolls the transaction back and leaves the events in the outbox.
+     */
+    private void publishConfirmed(RabbitOperations rabbitOperations, List<UserEvent> events) {
+        List<CorrelationData> confirms = new ArrayList<>(events.size());
+        for (UserEvent event : events) {
+            CorrelationData correlationData = new CorrelationData(String.valueOf(event.getId()));
+            rabbitOperations.convertAndSend(exchange, event.getType().getRoutingKey(), toMessage(event), correlationData);
+            confirms.add(correlationData);
+        }
+
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        for (CorrelationData correlationData : confirms) {
+            CorrelationData.Confirm confirm;
+            try {
+                confirm = correlationData.getFuture().get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmqpException("Interrupted while waiting for user event confirms.", e);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new AmqpException("User event " + correlationData.getId() + " was not confirmed in time.", e);
+            }
+
+            if (!confirm.isAck()) {
+                throw new AmqpException("User event " + correlationData.getId() + " was rejected: " + confirm.getReason());
+            }
+        }
+    }
+
+    private UserEventMessage toMessage(UserEvent event) {
+        return new UserEventMessage(event.getId(), event.getType(), event.getUserId(), event.getCreated(), event.getPayload());
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize user event payload.", e);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.internship.user_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.dto.ExportStatusResponse;
+import com.internship.user_service.enums.ExportState;
+import com.internship.user_service.enums.ExportTable;
+import com.internship.user_service.exception.ConflictException;
+import com.internship.user_service.service.UserExportService;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    static final String CHECKPOINT_FILE = "export-checkpoint.json";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int fetchSize;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    private volatile ExportState state = ExportState.IDLE;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+    private volatile List<ExportStatusResponse.TableProgress> progress = List.of();
+
+    public UserExportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${configs.export.directory:${java.io.tmpdir}/user-service-export}") Path directory,
+                                 @Value("${configs.export.fetch-size:1000}") int fetchSize,
+                                 @Value("${configs.export.chunk-size:10000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+        this.executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("user-export-"));
+    }
+
+    /**
+     * Position of the export in one table. {@code bytes} is the length of the export file up to the
+     * last complete chunk, anything written after it is dropped when the export is resumed.
+     */
+    @Data
+    @NoArgsConstructor
+    static class TableCheckpoint {
+        private List<Long> lastKey;
+        private long rows;
+        private long bytes;
+        private boolean completed;
+    }
+
+    @Data
+    @NoArgsConstructor
+    static class Checkpoint {
+        private Map<ExportTable, TableCheckpoint> tables = new EnumMap<>(ExportTable.class);
+    }
+
+    @Override
+    public synchronized ExportStatusResponse startExport(boolean resume) {
+        if (state == ExportState.RUNNING) {
+            throw new ConflictException("An export is already running.");
+        }
+
+        state = ExportState.RUNNING;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        progress = List.of();
+        executor.execute(() -> runExport(resume));
+
+        return getStatus();
+    }
+
+    @Override
+    public ExportStatusResponse getStatus() {
+        return ExportStatusResponse.builder()
+                .state(state)
+                .directory(directory.toString())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .tables(progress)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    void runExport(boolean resume) {
+        try {
+            Files.createDirectories(directory);
+            Checkpoint checkpoint = resume ? readCheckpoint() : startOver();
+            publish(checkpoint);
+
+            for (ExportTable table : ExportTable.values()) {
+                TableCheckpoint tableCheckpoint = checkpoint.getTables().computeIfAbsent(table, t -> new TableCheckpoint());
+                if (!tableCheckpoint.isCompleted()) {
+                    exportTable(table, checkpoint, tableCheckpoint);
+                }
+            }
+
+            state = ExportState.COMPLETED;
+            log.info("Export to {} completed.", directory);
+        } catch (IOException | RuntimeException e) {
+            log.error("Export to {} failed, it can be resumed from the last checkpoint.", directory, e);
+            error = e.getMessage();
+            state = ExportState.FAILED;
+        } finally {
+            finishedAt = LocalDateTime.now();
+        }
+    }
+
+    private void exportTable(ExportTable table, Checkpoint checkpoint, TableCheckpoint tableCheckpoint) throws IOException {
+        Path file = directory.resolve(table.fileName());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(tableCheckpoint.getBytes());
+        }
+
+        // The cursor only streams rows with a fetch size inside a transaction
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Map<String, Object>> rows = jdbcTemplate.queryForStream(
+                    statement(table, tableCheckpoint.getLastKey()), new ColumnMapRowMapper())) {
+                Iterator<Map<String, Object>> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    writeChunk(file, iterator, table, tableCheckpoint);
+                    writeCheckpoint(checkpoint);
+                    publish(checkpoint);
+                    log.info("Exported {} rows of {}.", tableCheckpoint.getRows(), table.getTableName());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        tableCheckpoint.setCompleted(true);
+        writeCheckpoint(checkpoint);
+        publish(checkpoint);
+    }
+
+    /**
+     * Writes up to one chunk of rows as a separate gzip member. Concatenated members form a valid
+     * gzip file, so every chunk is complete on disk before the checkpoint moves past it.
+     */
+    private void writeChunk(Path file, Iterator<Map<String, Object>> rows, ExportTable table,
+                            TableCheckpoint tableCheckpoint) throws IOException {
+        try (FileOutputStream fileOutput = new FileOutputStream(file.toFile(), true);
+             BufferedOutputStream bufferedOutput = new BufferedOutputStream(fileOutput, WRITE_BUFFER_SIZE);
+             GZIPOutputStream output = new GZIPOutputStream(bufferedOutput, WRITE_BUFFER_SIZE)) {
+            int written = 0;
+            Map<String, Object> row = null;
+            while (written < chunkSize && rows.hasNext()) {
+                row = rows.next();
+                output.write(objectMapper.writeValueAsBytes(row));
+                output.write('\n');
+                written++;
+            }
+
+            output.finish();
+            bufferedOutput.flush();
+            fileOutput.getFD().sync();
+
+            tableCheckpoint.setRows(tableCheckpoint.getRows() + written);
+            tableCheckpoint.setBytes(fileOutput.getChannel().position());
+            if (row != null) {
+                tableCheckpoint.setLastKey(key(table, row));
+            }
+        }
+    }
+
+    private PreparedStatementCreator statement(ExportTable table, List<Long> afterKey) {
+        String sql = table.selectSql(afterKey != null);
+        return connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            if (afterKey != null) {
+                for (int i = 0; i < afterKey.size(); i++) {
+                    statement.setLong(i + 1, afterKey.get(i));
+                }
+            }
+            return statement;
+        };
+    }
+
+    private static List<Long> key(ExportTable table, Map<String, Object> row) {
+        return table.getKeyColumns().stream()
+                .map(column -> ((Number) row.get(column)).longValue())
+                .toList();
+    }
+
+    private Checkpoint startOver() throws IOException {
+        for (ExportTable table : ExportTable.values()) {
+            Files.deleteIfExists(directory.resolve(table.fileName()));
+        }
+        Files.deleteIfExists(directory.resolve(CHECKPOINT_FILE));
+        return new Checkpoint();
+    }
+
+    private Checkpoint readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            log.info("No export checkpoint found in {}, starting over.", directory);
+            return startOver();
+        }
+        return objectMapper.readValue(file.toFile(), Checkpoint.class);
+    }
+
+    private void writeCheckpoint(Checkpoint checkpoint) {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try {
+            Files.write(temporary, objectMapper.writeValueAsBytes(checkpoint));
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void publish(Checkpoint checkpoint) {
+        progress = Arrays.stream(ExportTable.values())
+                .map(table -> {
+                    TableCheckpoint tableCheckpoint = checkpoint.getTables().get(table);
+                    return new ExportStatusResponse.TableProgress(table, table.fileName(),
+                            tableCheckpoint == null ? 0 : tableCheckpoint.getRows(),
+                            tableCheckpoint != null && tableCheckpoint.isCompleted());
+                })
+                .toList();
+    }
+}
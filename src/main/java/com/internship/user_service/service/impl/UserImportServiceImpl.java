@@ -0,0 +1,317 @@
+package com.internship.user_service.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.constants.CacheNames;
+import com.internship.user_service.dto.UserDTO;
+import com.internship.user_service.dto.UserImportResponse;
+import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.enums.ImportFormat;
+import com.internship.user_service.enums.ImportMode;
+import com.internship.user_service.enums.UserEventType;
+import com.internship.user_service.mapper.UserMapper;
+import com.internship.user_service.model.User;
+import com.internship.user_service.repository.UserRepository;
+import com.internship.user_service.service.UserEventService;
+import com.internship.user_service.service.UserImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    static final List<String> CSV_COLUMNS = List.of(
+            "id", "name", "surname", "email", "birthday", "phone", "address", "city", "zipCode", "country");
+
+    private static final String INSERT_SQL = "INSERT INTO users " +
+            "(id, name, surname, email, birthday, phone, address, city, zip_code, country, created) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ";
+
+    private static final String SKIP_SQL = INSERT_SQL + "ON CONFLICT DO NOTHING";
+
+    private static final String UPSERT_SQL = INSERT_SQL + "ON CONFLICT (id) DO UPDATE SET " +
+            "name = EXCLUDED.name, surname = EXCLUDED.surname, email = EXCLUDED.email, " +
+            "birthday = EXCLUDED.birthday, phone = EXCLUDED.phone, address = EXCLUDED.address, " +
+            "city = EXCLUDED.city, zip_code = EXCLUDED.zip_code, country = EXCLUDED.country";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final UserEventService userEventService;
+    private final CacheManager cacheManager;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public UserImportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 UserRepository userRepository,
+                                 UserMapper userMapper,
+                                 UserEventService userEventService,
+                                 CacheManager cacheManager,
+                                 @Value("${configs.users.import.batch-size:1000}") int batchSize,
+                                 @Value("${configs.users.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.userEventService = userEventService;
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    private record Row(long line, UserDTO user) {
+    }
+
+    /**
+     * Counters of one import run.
+     */
+    private final class Progress {
+        private long received;
+        private long imported;
+        private long skipped;
+        private long failed;
+        private final List<UserImportResponse.RowError> errors = new ArrayList<>();
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new UserImportResponse.RowError(line, message));
+            }
+        }
+
+        private UserImportResponse toResponse() {
+            return UserImportResponse.builder()
+                    .received(received)
+                    .imported(imported)
+                    .skipped(skipped)
+                    .failed(failed)
+                    .errors(errors)
+                    .build();
+        }
+    }
+
+    @Override
+    public UserImportResponse importUsers(InputStream input, ImportFormat format, ImportMode mode) throws IOException {
+        Progress progress = new Progress();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> columns = format == ImportFormat.CSV ? readCsvHeader(reader) : null;
+            long line = columns == null ? 0 : 1;
+
+            String record;
+            while ((record = reader.readLine()) != null) {
+                line++;
+                if (record.isBlank()) {
+                    continue;
+                }
+                progress.received++;
+
+                UserDTO user;
+                try {
+                    user = columns == null ? objectMapper.readValue(record, UserDTO.class) : fromCsv(columns, record);
+                } catch (JsonProcessingException e) {
+                    progress.fail(line, "Invalid record: " + e.getOriginalMessage());
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    progress.fail(line, "Invalid record: " + e.getMessage());
+                    continue;
+                }
+
+                String violations = validate(user);
+                if (violations != null) {
+                    progress.fail(line, violations);
+                    continue;
+                }
+
+                batch.add(new Row(line, user));
+                if (batch.size() == batchSize) {
+                    write(batch, mode, progress);
+                    batch.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            write(batch, mode, progress);
+        }
+
+        log.info("Imported {} users, skipped {}, {} failed, out of {} records.",
+                progress.imported, progress.skipped, progress.failed, progress.received);
+        return progress.toResponse();
+    }
+
+    /**
+     * Writes the batch with one JDBC batch statement. If the database rejects any of its rows,
+     * the batch is rolled back and written again row by row to find and report the failing rows.
+     */
+    private void write(List<Row> batch, ImportMode mode, Progress progress) {
+        String sql = mode == ImportMode.UPSERT ? UPSERT_SQL : SKIP_SQL;
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Row> written;
+        try {
+            written = transactionTemplate.execute(status -> {
+                int[] counts = jdbcTemplate.batchUpdate(sql, batch.stream().map(row -> toParameters(row.user(), now)).toList());
+                List<Row> writtenRows = new ArrayList<>();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] != 0) {
+                        writtenRows.add(batch.get(i));
+                    }
+                }
+                recordEvents(writtenRows, mode);
+                return writtenRows;
+            });
+            progress.skipped += batch.size() - written.size();
+        } catch (DataAccessException e) {
+            log.warn("Import batch of {} rows was rejected, retrying row by row: {}",
+                    batch.size(), e.getMostSpecificCause().getMessage());
+            written = new ArrayList<>();
+            for (Row row : batch) {
+                try {
+                    boolean inserted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                        boolean rowWritten = jdbcTemplate.update(sql, toParameters(row.user(), now)) != 0;
+                        if (rowWritten) {
+                            recordEvents(List.of(row), mode);
+                        }
+                        return rowWritten;
+                    }));
+                    if (inserted) {
+                        written.add(row);
+                    } else {
+                        progress.skipped++;
+                    }
+                } catch (DataAccessException rowException) {
+                    progress.fail(row.line(), rowException.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        progress.imported += written.size();
+        if (mode == ImportMode.UPSERT) {
+            evict(written);
+        }
+    }
+
+    private void recordEvents(List<Row> rows, ImportMode mode) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // Upserts can not tell created from overwritten users, consumers treat both as the latest state
+        UserEventType type = mode == ImportMode.UPSERT ? UserEventType.USER_UPDATED : UserEventType.USER_CREATED;
+
+        // An upsert keeps the columns the import does not contain, so the payload is read back from the
+        // written rows, in the same transaction, instead of being built from the imported records
+        Map<Long, User> stored = userRepository.findAllById(rows.stream().map(row -> row.user().getId()).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, UserResponse> payloads = new LinkedHashMap<>();
+        rows.forEach(row -> {
+            User user = stored.get(row.user().getId());
+            if (user != null) {
+                payloads.put(user.getId(), userMapper.toUserResponse(user));
+            }
+        });
+        userEventService.recordAll(type, payloads);
+    }
+
+    private void evict(List<Row> rows) {
+        Cache cache = cacheManager.getCache(CacheNames.USERS);
+        if (cache != null) {
+            rows.forEach(row -> cache.evict(row.user().getId()));
+        }
+    }
+
+    private String validate(UserDTO user) {
+        Set<ConstraintViolation<UserDTO>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<String> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return List.of();
+        }
+
+        List<String> columns = CsvRecordParser.parse(header).stream().map(String::trim).toList();
+        for (String column : columns) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column '" + column + "', expected " + CSV_COLUMNS + ".");
+            }
+        }
+        return columns;
+    }
+
+    private UserDTO fromCsv(List<String> columns, String record) {
+        List<String> values = CsvRecordParser.parse(record);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " fields but found " + values.size() + ".");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String value = values.get(i).trim();
+            fields.put(columns.get(i), value.isEmpty() ? null : value);
+        }
+        return objectMapper.convertValue(fields, UserDTO.class);
+    }
+
+    private static Object[] toParameters(UserDTO user, LocalDateTime created) {
+        return new Object[]{
+                user.getId(),
+                user.getName(),
+                user.getSurname(),
+                user.getEmail(),
+                user.getBirthday() == null ? null : Date.valueOf(user.getBirthday()),
+                user.getPhone(),
+                user.getAddress(),
+                user.getCity(),
+                user.getZipCode(),
+                user.getCountry(),
+                Timestamp.valueOf(created)
+        };
+    }
+}
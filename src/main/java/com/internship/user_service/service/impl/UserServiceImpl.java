@@ -1,9 +1,18 @@
 package com.internship.user_service.service.impl;
 
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.*;
+import com.internship.user_service.bean.GcsBlobResource;
+import com.internship.user_service.cache.ProfilePictureCache;
+import com.internship.user_service.constants.CacheNames;
 import com.internship.user_service.dto.AvailabilityDTO;
+import com.internship.user_service.dto.FreeSlotRequest;
+import com.internship.user_service.dto.FreeSlotsResponse;
 import com.internship.user_service.dto.ImageDTO;
+import com.internship.user_service.dto.UserBatchResponse;
 import com.internship.user_service.dto.WorkingHoursRequest;
+import com.internship.user_service.enums.PictureSize;
+import com.internship.user_service.enums.UserEventType;
 import com.internship.user_service.exception.*;
 import com.internship.user_service.mapper.AvailabilityMapper;
 import com.internship.user_service.exception.PictureNotFoundException;
@@ -15,22 +24,48 @@ import com.internship.user_service.model.User;
 import com.internship.user_service.dto.UserDTO;
 import com.internship.user_service.repository.AvailabilityRepository;
 import com.internship.user_service.repository.UserRepository;
+import com.internship.user_service.repository.projection.UserPictureView;
 import com.internship.user_service.dto.UserResponse;
-import jakarta.transaction.Transactional;
+import com.internship.user_service.dto.UserPageResponse;
+import com.internship.user_service.dto.WorkerFreeSlotsResponse;
+import jakarta.persistence.EntityManager;
+import com.internship.user_service.service.BlobCleanupService;
+import com.internship.user_service.service.ThumbnailService;
+import com.internship.user_service.service.UserEventService;
 import com.internship.user_service.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.internship.user_service.constants.FilePath.ALLOWED_EXTENSIONS;
 
@@ -44,10 +79,27 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final AvailabilityRepository availabilityRepository;
     private final AvailabilityMapper availabilityMapper;
+    private final EntityManager entityManager;
+    private final ProfilePictureCache profilePictureCache;
+    private final ThumbnailService thumbnailService;
+    private final BlobCleanupService blobCleanupService;
+    private final UserEventService userEventService;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int UPLOAD_CHUNK_SIZE = 256 * 1024;
 
     @Value("${gcs.bucket.name}")
     private String bucketName;
 
+    @Value("${configs.pictures.max-size:5MB}")
+    private DataSize maxPictureSize;
+
+    @Value("${configs.users.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${configs.users.page.max-size:500}")
+    private int maxPageSize;
+
     private String getFileExtension(String fileName) {
         return fileName.substring(fileName.lastIndexOf(".") + 1).toLowerCase();
     }
@@ -58,17 +110,21 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserResponse createUser(UserDTO userDTO) {
         if (userRepository.existsById(userDTO.getId())) {
             log.error("User with id {} already exists.", userDTO.getId());
             throw new AlreadyExistsException("User with id " + userDTO.getId() + " already exists.");
         }
         User user = userRepository.save(userMapper.toUserEntity(userDTO));
+        UserResponse response = userMapper.toUserResponse(user);
+        userEventService.record(UserEventType.USER_CREATED, user.getId(), response);
         log.info("User with id {} created successfully.", user.getId());
-        return userMapper.toUserResponse(user);
+        return response;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#userId")
     public UserResponse addProfilePicture(Long userId, MultipartFile file) throws IOException {
         User user = userRepository
                 .findById(userId)
@@ -82,6 +138,11 @@ public class UserServiceImpl implements UserService {
             throw new PictureNotFoundException("Profile picture is missing!");
         }
 
+        if (file.getSize() > maxPictureSize.toBytes()) {
+            log.error("Profile picture of {} bytes exceeds the limit of {}.", file.getSize(), maxPictureSize);
+            throw new PictureTooLargeException("Profile picture must not be larger than " + maxPictureSize.toMegabytes() + "MB.");
+        }
+
         String originalFilename = file.getOriginalFilename();
 
         if (originalFilename == null || !isValidImageExtension(originalFilename)) {
@@ -92,93 +153,170 @@ public class UserServiceImpl implements UserService {
         String fileName = "pictureUserId_" + userId + "." + getFileExtension(originalFilename);
 
         BlobId blobId = BlobId.of(bucketName, fileName);
+        blobCleanupService.cancelDeletion(fileName);
 
         BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
                 .setContentType(file.getContentType())
                 .build();
 
-        storage.create(
+        // Stream the upload so at most one chunk of it is held in memory
+        WriteChannel writer = storage.writer(
                 blobInfo,
-                file.getBytes(),
-                Storage.BlobTargetOption.predefinedAcl(Storage.PredefinedAcl.PUBLIC_READ)
-        );
-
-        user.setProfilePicturePath(fileName);
-        User savedUser = userRepository.save(user);
+                Storage.BlobWriteOption.predefinedAcl(Storage.PredefinedAcl.PUBLIC_READ));
+        writer.setChunkSize(UPLOAD_CHUNK_SIZE);
+        try (InputStream input = file.getInputStream()) {
+            input.transferTo(Channels.newOutputStream(writer));
+        }
+        // Closing finalizes the object, so a failed upload is abandoned instead and its session expires
+        writer.close();
+
+        Blob uploaded = storage.get(blobId);
+        profilePictureCache.invalidate(fileName);
+        if (uploaded == null) {
+            log.error("Uploaded profile picture {} of user {} was not found in storage.", fileName, userId);
+            throw new ServiceUnavailableException("GCS error while storing profile picture " + fileName + " for user " + userId);
+        }
+        thumbnailService.generateThumbnails(fileName, uploaded.getGeneration());
+
+        // Only the database writes run in a transaction, not the upload above
+        UserResponse response = transactionTemplate.execute(status -> {
+            String previousFileName = user.getProfilePicturePath();
+            user.setProfilePicturePath(fileName);
+            User savedUser = userRepository.save(user);
+            if (!fileName.equals(previousFileName)) {
+                // A picture with another extension is stored under another name, but may share thumbnail names
+                blobCleanupService.scheduleDeletion(previousFileName, fileName);
+            }
+            UserResponse savedResponse = userMapper.toUserResponse(savedUser);
+            userEventService.record(UserEventType.PICTURE_CHANGED, userId, savedResponse);
+            return savedResponse;
+        });
         log.info("Profile picture added for user with id {}.", userId);
-        return userMapper.toUserResponse(savedUser);
+        return response;
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#userId")
     public Boolean deleteProfilePicture(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found."));
 
-        return deleteProfilePicture(user);
+        boolean deleted = deleteProfilePicture(user);
+        if (deleted) {
+            userEventService.record(UserEventType.PICTURE_CHANGED, userId, userMapper.toUserResponse(user));
+        }
+        return deleted;
     }
 
     @Override
     public Boolean deleteProfilePicture(User user) {
-
-        if (!user.getProfilePicturePath().isBlank()) {
-            BlobId blobId = BlobId.of(bucketName, user.getProfilePicturePath());
-            boolean deleted = storage.delete(blobId);
-
-            if (deleted) {
-                log.info("Image deleted for user {}.", user.getId());
-            } else {
-                log.error("Image deletion failed for user {}.", user.getId());
-            }
-            return deleted;
+        if (!StringUtils.hasText(user.getProfilePicturePath())) {
+            return false;
         }
 
-        return false;
+        blobCleanupService.scheduleDeletion(user.getProfilePicturePath());
+        user.setProfilePicturePath(null);
+        log.info("Image of user {} scheduled for deletion.", user.getId());
+        return true;
     }
 
     @Override
     public ImageDTO getProfilePicture(Long userId) {
-        UserResponse user = getUser(userId);
+        return getProfilePicture(userId, PictureSize.ORIGINAL);
+    }
+
+    @Override
+    public ImageDTO getProfilePicture(Long userId, PictureSize size) {
+        User user = getUserEntity(userId);
 
         String pictureName = user.getProfilePicturePath();
 
-        if (pictureName.isBlank()) {
+        if (pictureName == null || pictureName.isBlank()) {
             log.info("User {} doesn't have a profile picture.", userId);
             throw new UserNotFoundException("User " + userId + " doesn't have profile picture.");
         }
 
-        log.info("Fetching profile picture for user {}.", userId);
+        log.info("Fetching {} profile picture for user {}.", size, userId);
 
-        try {
-            BlobId blobId = BlobId.of(bucketName, pictureName);
-            Blob blob = storage.get(blobId);
+        Optional<ImageDTO> image = findProfilePicture(userId, size.objectName(pictureName));
 
-            if (blob == null || !blob.exists()) {
-                log.error("Picture file {} not found in GCS bucket {} for user {}.", pictureName, bucketName, userId);
-                throw new UserNotFoundException("Profile picture " +
-                        user.getProfilePicturePath() +
-                        " not found in cloud storage."
-                );
-            }
+        if (image.isEmpty() && size != PictureSize.ORIGINAL) {
+            // Thumbnails are created in the background, so they may not exist yet
+            log.info("Profile picture {} has no {} thumbnail, serving the original.", pictureName, size);
+            image = findProfilePicture(userId, pictureName);
+        }
 
-            ImageDTO imageDTO = ImageDTO.builder().image(blob.getContent()).build();
+        return image.orElseThrow(() -> {
+            log.error("Picture file {} not found in GCS bucket {} for user {}.", pictureName, bucketName, userId);
+            return new UserNotFoundException("Profile picture " +
+                    pictureName +
+                    " not found in cloud storage."
+            );
+        });
+    }
 
-            if (pictureName.endsWith(".png")) {
+    /**
+     * Finds the picture with the given object name in the local cache, or in GCS.
+     *
+     * @param userId     The ID of the user whose profile picture is fetched.
+     * @param objectName The object name of the picture.
+     * @return An ImageDTO containing the picture, its media type and its ETag, or an empty result if it does not exist.
+     */
+    private Optional<ImageDTO> findProfilePicture(Long userId, String objectName) {
+        Optional<ImageDTO> image = profilePictureCache.get(objectName)
+                .map(cached -> ImageDTO.builder().image(cached.image()).etag(cached.etag()).build())
+                .or(() -> fetchProfilePicture(userId, objectName));
+
+        image.ifPresent(imageDTO -> {
+            if (objectName.endsWith(".png")) {
                 imageDTO.setMediaType(MediaType.IMAGE_PNG);
-            } else if (pictureName.endsWith(".jpg") || pictureName.endsWith(".jpeg")) {
+            } else if (objectName.endsWith(".jpg") || objectName.endsWith(".jpeg")) {
                 imageDTO.setMediaType(MediaType.IMAGE_JPEG);
             } else {
                 imageDTO.setMediaType(MediaType.APPLICATION_OCTET_STREAM);
             }
+        });
 
-            return imageDTO;
+        return image;
+    }
+
+    /**
+     * Reads the metadata of the picture from GCS and downloads the picture into the local
+     * cache. Pictures that cannot be cached are streamed from GCS when the response is written.
+     *
+     * @param userId     The ID of the user whose profile picture is fetched.
+     * @param objectName The object name of the picture.
+     * @return An ImageDTO containing the picture and its ETag, or an empty result if it does not exist.
+     */
+    private Optional<ImageDTO> fetchProfilePicture(Long userId, String objectName) {
+        try {
+            Blob blob = storage.get(BlobId.of(bucketName, objectName));
+
+            if (blob == null || !blob.exists()) {
+                return Optional.empty();
+            }
+
+            BlobId version = BlobId.of(bucketName, objectName, blob.getGeneration());
+            String etag = blob.getMd5() == null
+                    ? String.valueOf(blob.getGeneration())
+                    : blob.getGeneration() + "-" + blob.getMd5();
+            long size = blob.getSize();
+
+            Resource image = profilePictureCache.load(objectName, version, etag, size)
+                    .map(ProfilePictureCache.CachedPicture::image)
+                    .orElseGet(() -> new GcsBlobResource(storage, version, size));
+
+            return Optional.of(ImageDTO.builder().image(image).etag(etag).build());
 
         } catch (StorageException e) {
-            log.error("GCS error while fetching profile picture {} for user {}.", pictureName, userId);
-            throw new ServiceUnavailableException("GCS error while fetching profile picture " + pictureName + " for user " + userId);
+            log.error("GCS error while fetching profile picture {} for user {}.", objectName, userId);
+            throw new ServiceUnavailableException("GCS error while fetching profile picture " + objectName + " for user " + userId);
         }
     }
 
     @Override
+    @Cacheable(cacheNames = CacheNames.USERS, key = "#userId", sync = true)
     public UserResponse getUser(Long userId) {
         User user = userRepository
                 .findById(userId)
@@ -191,6 +329,32 @@ public class UserServiceImpl implements UserService {
         return userResponse;
     }
 
+    @Override
+    public UserBatchResponse getUsers(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+
+        Map<Long, User> usersById = userRepository.findAllById(uniqueIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<UserResponse> users = new ArrayList<>(usersById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            User user = usersById.get(id);
+            if (user == null) {
+                missingIds.add(id);
+            } else {
+                users.add(userMapper.toUserResponse(user));
+            }
+        }
+
+        log.info("Retrieved {} of {} requested users.", users.size(), uniqueIds.size());
+        return UserBatchResponse.builder()
+                .users(users)
+                .missingIds(missingIds)
+                .build();
+    }
+
     @Override
     public List<UserResponse> getAllUsers() {
         List<UserResponse> users = userRepository
@@ -202,6 +366,46 @@ public class UserServiceImpl implements UserService {
         return users;
     }
 
+    @Override
+    public UserPageResponse getUsersPage(Long after, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            log.error("Invalid page size {}.", pageSize);
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize + ".");
+        }
+
+        // Fetch one extra row to find out whether there is a next page
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? Long.MIN_VALUE : after,
+                Limit.of(pageSize + 1));
+
+        boolean hasNext = users.size() > pageSize;
+        List<UserResponse> page = users.stream()
+                .limit(pageSize)
+                .map(userMapper::toUserResponse)
+                .toList();
+
+        log.info("Retrieved {} users after id {}.", page.size(), after);
+        return UserPageResponse.builder()
+                .users(page)
+                .nextCursor(hasNext ? users.get(pageSize - 1).getId() : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponse> consumer) {
+        try (Stream<User> users = userRepository.streamAllOrderedById()) {
+            users.forEach(user -> {
+                consumer.accept(userMapper.toUserResponse(user));
+                // Keep the persistence context from growing with the table
+                entityManager.detach(user);
+            });
+        }
+        log.info("Streamed all users.");
+    }
+
     /**
      * Retrieves all availabilities for the user with the specified {@code userId}.
      * If the list of availabilities is empty, that means that the user is available
@@ -222,57 +426,104 @@ public class UserServiceImpl implements UserService {
     @Transactional
     @Override
     public void addAvailabilityToTheUser(AvailabilityDTO availabilityDTO) {
-        Optional<User> user = Optional.ofNullable(userRepository.findById(availabilityDTO.getWorkerId()).orElseThrow(() -> new UserNotFoundException("User not found.")));
+        // Lock the worker so concurrent reservations for the same worker are checked one at a time
+        User user = userRepository.findByIdForUpdate(availabilityDTO.getWorkerId()).orElseThrow(() -> {
+            log.error("User with id {} not found.", availabilityDTO.getWorkerId());
+            return new UserNotFoundException("User not found.");
+        });
 
         if(availabilityDTO.getStartTime().isAfter(availabilityDTO.getEndTime())){
             log.error("Start time must be before end time.");
             throw new InvalidTimeFormatException("Start time must be before end time.");
         }
 
-        if(user.isEmpty()){
-            log.error("User with id {} not found.", availabilityDTO.getWorkerId());
+        if (availabilityRepository.existsOverlapping(user.getId(),
+                availabilityDTO.getStartTime(), availabilityDTO.getEndTime())) {
+            log.error("User with id {} is already busy between {} and {}.",
+                    user.getId(), availabilityDTO.getStartTime(), availabilityDTO.getEndTime());
+            throw new UserUnavailableException("User is already busy in that time.");
         }
 
+        Availability availability = availabilityMapper.toEntity(availabilityDTO);
+        availability.setUser(user);
+        availabilityRepository.save(availability);
+    }
 
-        List<Availability> availabilities = availabilityRepository.findAllByUserId(availabilityDTO.getWorkerId());
-
-        for(Availability a : availabilities){
-            log.info("TESTING AVA: {}", a.getId());
-            log.info("{}",a.getStartTime().isBefore(availabilityDTO.getStartTime()));
+    @Override
+    @Transactional(readOnly = true)
+    public FreeSlotsResponse getFreeSlots(FreeSlotRequest request) {
+        LocalDateTime startTime = request.getStartTime();
+        LocalDateTime endTime = request.getEndTime();
 
-            log.info("{}",a.getEndTime().isAfter(availabilityDTO.getEndTime()));
+        if (!startTime.isBefore(endTime)) {
+            log.error("Start time must be before end time.");
+            throw new InvalidTimeFormatException("Start time must be before end time.");
+        }
 
-            if(a.getStartTime().isBefore(availabilityDTO.getStartTime())
-                    || a.getEndTime().isAfter(availabilityDTO.getEndTime())) { // Add: 8:00 - 12:00,  Existing: 7:00 - 13:00
-                log.error("User is already busy in that time.");
-                throw new UserUnavailableException("User is already busy in that time.");
-            }else if(a.getStartTime().isEqual(availabilityDTO.getStartTime()) ||
-            a.getEndTime().isEqual(availabilityDTO.getEndTime())){
-                log.error("User is already busy in that time.");
-                throw new UserUnavailableException("User is already busy in that time.");
-            }
+        if (Duration.between(startTime, endTime).compareTo(FreeSlotRequest.MAX_WINDOW) > 0) {
+            log.error("Requested free slot window from {} to {} is too long.", startTime, endTime);
+            throw new IllegalArgumentException("Time window must not be longer than " +
+                    FreeSlotRequest.MAX_WINDOW.toDays() + " days.");
         }
 
-        Availability availability = availabilityMapper.toEntity(availabilityDTO);
-        availability.setUser(user.get());
-        availabilityRepository.save(availability);
+        List<WorkerFreeSlotsResponse> freeSlots = FreeSlotCalculator.calculate(
+                userRepository.findWorkingHoursAndBusySlots(request.getWorkerIds(), startTime, endTime),
+                startTime, endTime);
+        Set<Long> foundIds = freeSlots.stream()
+                .map(WorkerFreeSlotsResponse::getWorkerId)
+                .collect(Collectors.toSet());
+        List<Long> missingIds = request.getWorkerIds().stream()
+                .filter(id -> !foundIds.contains(id))
+                .sorted()
+                .toList();
+
+        log.info("Calculated free slots for {} of {} requested workers.",
+                freeSlots.size(), request.getWorkerIds().size());
+        return FreeSlotsResponse.builder()
+                .workers(freeSlots)
+                .missingIds(missingIds)
+                .build();
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#id")
     public Boolean undoUserCreation(Long id) {
         User user = userRepository.findById(id).orElseThrow(() ->
                 new UserNotFoundException("User not found.")
         );
 
-        if (!user.getProfilePicturePath().isBlank()) {
-            deleteProfilePicture(user);
-        }
-
+        deleteProfilePicture(user);
         userRepository.delete(user);
+        userEventService.record(UserEventType.USER_DELETED, id, null);
 
         return true;
     }
 
+    @Override
+    @Transactional
+    public Set<Long> deleteUsers(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+
+        List<UserPictureView> users = userRepository.findPicturesByIdIn(ids);
+        if (users.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> existingIds = new LinkedHashSet<>();
+        for (UserPictureView user : users) {
+            existingIds.add(user.getId());
+            blobCleanupService.scheduleDeletion(user.getProfilePicturePath());
+            userEventService.record(UserEventType.USER_DELETED, user.getId(), null);
+        }
+
+        int deleted = userRepository.deleteAllByIdIn(existingIds);
+        log.info("Deleted {} of {} requested users.", deleted, ids.size());
+        return existingIds;
+    }
+
     @Override
     public User getUserEntity(Long userId) {
         return userRepository.findById(userId).orElseThrow(() -> {
@@ -281,6 +532,14 @@ public class UserServiceImpl implements UserService {
         });
     }
 
+    @Override
+    public void verifyUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.error("User with id {} not found.", userId);
+            throw new UserNotFoundException("User not found.");
+        }
+    }
+
     @Override
     public boolean checkIfPhoneExists(String phoneNumber) {
         return userRepository.checkIfPhoneExists(phoneNumber);
@@ -288,6 +547,8 @@ public class UserServiceImpl implements UserService {
 
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = CacheNames.AUTHENTICATED_USER_ID_KEY)
     public void updateWorkingHours(WorkingHoursRequest request) {
 
         Long userId = Long.parseLong((String) SecurityContextHolder.getContext().getAuthentication().getPrincipal());
@@ -314,10 +575,12 @@ public class UserServiceImpl implements UserService {
         user.setEndTime(endTime);
 
         userRepository.save(user);
+        userEventService.record(UserEventType.WORKING_HOURS_CHANGED, userId, userMapper.toUserResponse(user));
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheNames.USERS, key = "#userDTO.id")
     public UserResponse editUser(UserDTO userDTO) {
 
         if (userDTO.getId() == null) {
@@ -340,8 +603,10 @@ public class UserServiceImpl implements UserService {
         user.setCity(userDTO.getCity());
         user.setZipCode(userDTO.getZipCode());
 
+        UserResponse response = userMapper.toUserResponse(user);
+        userEventService.record(UserEventType.USER_UPDATED, user.getId(), response);
         log.info("User with id {} updated successfully.", user.getId());
-        return userMapper.toUserResponse(user);
+        return response;
     }
 
 
@@ -0,0 +1,78 @@
+package com.internship.user_service.bean;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GcsBlobResourceTest {
+
+    private static final BlobId BLOB_ID = BlobId.of("testBucketName", "pictureUserId_1.jpg", 7L);
+
+    @Mock
+    private Storage storage;
+
+    @Mock
+    private ReadChannel reader;
+
+    private GcsBlobResource resource;
+
+    @BeforeEach
+    void setUp() {
+        resource = new GcsBlobResource(storage, BLOB_ID, 100);
+    }
+
+    @Test
+    void shouldNotTouchStorageUntilRead() {
+        assertEquals(100, resource.contentLength());
+        assertEquals("pictureUserId_1.jpg", resource.getFilename());
+        assertTrue(resource.exists());
+
+        verifyNoInteractions(storage);
+    }
+
+    @Test
+    void shouldStreamThroughReaderWithSmallChunks() throws IOException {
+        when(storage.reader(BLOB_ID)).thenReturn(reader);
+        when(reader.read(any(ByteBuffer.class))).thenAnswer(invocation -> {
+            ByteBuffer buffer = invocation.getArgument(0);
+            buffer.put((byte) 42);
+            return 1;
+        }).thenReturn(-1);
+
+        try (InputStream inputStream = resource.getInputStream()) {
+            assertEquals(42, inputStream.read());
+            assertEquals(-1, inputStream.read());
+        }
+
+        verify(reader).setChunkSize(GcsBlobResource.CHUNK_SIZE);
+        verify(reader).close();
+    }
+
+    @Test
+    void skipShouldSeekInsteadOfReading() throws IOException {
+        when(storage.reader(BLOB_ID)).thenReturn(reader);
+
+        try (InputStream inputStream = resource.getInputStream()) {
+            assertEquals(40, inputStream.skip(40));
+            assertEquals(60, inputStream.skip(80));
+            assertEquals(0, inputStream.skip(1));
+        }
+
+        verify(reader).seek(40);
+        verify(reader).seek(100);
+        verify(reader, never()).read(any(ByteBuffer.class));
+    }
+}
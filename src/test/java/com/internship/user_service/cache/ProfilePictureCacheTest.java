@@ -0,0 +1,253 @@
+package com.internship.user_service.cache;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProfilePictureCacheTest {
+
+    private static final String BUCKET = "testBucketName";
+
+    @TempDir
+    Path directory;
+
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = LocalStorageHelper.getOptions().getService();
+    }
+
+    private ProfilePictureCache cache(long heapMaxBytes, long diskMaxBytes, Duration expireAfter) {
+        return new ProfilePictureCache(storage, true, directory,
+                DataSize.ofBytes(heapMaxBytes), DataSize.ofBytes(100),
+                DataSize.ofBytes(diskMaxBytes), DataSize.ofBytes(1000),
+                expireAfter);
+    }
+
+    private byte[] upload(String name, int size) {
+        byte[] content = new byte[size];
+        Arrays.fill(content, (byte) name.length());
+        storage.create(BlobInfo.newBuilder(BlobId.of(BUCKET, name)).build(), content);
+        return content;
+    }
+
+    private Optional<ProfilePictureCache.CachedPicture> load(ProfilePictureCache cache, String name, int size) {
+        return cache.load(name, BlobId.of(BUCKET, name), name + "-etag", size);
+    }
+
+    /**
+     * Serves cached pictures the way the profile picture endpoint does.
+     */
+    @RestController
+    static class PictureController {
+
+        private final ProfilePictureCache cache;
+
+        PictureController(ProfilePictureCache cache) {
+            this.cache = cache;
+        }
+
+        @GetMapping("/pictures/{name}")
+        ResponseEntity<Resource> get(@PathVariable("name") String name) {
+            ProfilePictureCache.CachedPicture picture = cache.get(name).orElseThrow();
+            return ResponseEntity.ok().eTag(picture.etag()).body(picture.image());
+        }
+    }
+
+    private Path cachedFile() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve(ProfilePictureCache.SUBDIRECTORY))) {
+            return files.findFirst().orElseThrow().toRealPath();
+        }
+    }
+
+    private static long openDescriptors(Path file) throws IOException {
+        try (Stream<Path> descriptors = Files.list(Path.of("/proc/self/fd"))) {
+            return descriptors.filter(descriptor -> {
+                try {
+                    return Files.readSymbolicLink(descriptor).equals(file);
+                } catch (IOException e) {
+                    return false;
+                }
+            }).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a loaded picture without going back to storage")
+    void load_thenGetFromCache() throws IOException {
+        ProfilePictureCache cache = cache(1000, 1000, Duration.ofMinutes(10));
+        byte[] content = upload("pictureUserId_1.jpg", 500);
+
+        assertThat(load(cache, "pictureUserId_1.jpg", 500)).isPresent();
+        storage.delete(BlobId.of(BUCKET, "pictureUserId_1.jpg"));
+
+        ProfilePictureCache.CachedPicture cached = cache.get("pictureUserId_1.jpg").orElseThrow();
+        assertThat(cached.etag()).isEqualTo("pictureUserId_1.jpg-etag");
+        assertThat(cached.image().getContentAsByteArray()).isEqualTo(content);
+        assertThat(cached.image()).isInstanceOf(ProfilePictureCache.CachedFileResource.class);
+    }
+
+    @Test
+    @DisplayName("Should keep small pictures on the heap and large ones on disk only")
+    void load_smallPicturesPromotedToHeap() throws IOException {
+        ProfilePictureCache cache = cache(1000, 1000, Duration.ofMinutes(10));
+        byte[] small = upload("small.png", 50);
+        upload("large.png", 500);
+
+        ProfilePictureCache.CachedPicture smallPicture = load(cache, "small.png", 50).orElseThrow();
+        ProfilePictureCache.CachedPicture largePicture = load(cache, "large.png", 500).orElseThrow();
+
+        assertThat(smallPicture.image()).isInstanceOf(ByteArrayResource.class);
+        assertThat(smallPicture.image().getContentAsByteArray()).isEqualTo(small);
+        assertThat(largePicture.image()).isInstanceOf(ProfilePictureCache.CachedFileResource.class);
+        assertThat(cache.heapSize()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not keep a picture file open when the request is answered with 304")
+    void get_notModified_closesFile() throws Exception {
+        assumeTrue(Files.isDirectory(Path.of("/proc/self/fd")), "needs /proc/self/fd");
+        ProfilePictureCache cache = cache(1000, 1000, Duration.ofMinutes(10));
+        byte[] content = upload("large.png", 500);
+        load(cache, "large.png", 500);
+        Path file = cachedFile();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PictureController(cache)).build();
+
+        mockMvc.perform(get("/pictures/large.png").header(HttpHeaders.IF_NONE_MATCH, "\"large.png-etag\""))
+                .andExpect(status().isNotModified());
+        assertThat(openDescriptors(file)).isZero();
+
+        mockMvc.perform(get("/pictures/large.png"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(content));
+        assertThat(openDescriptors(file)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stream a picture from storage when its file is invalidated after it was handed out")
+    void get_thenInvalidate_stillReadable() throws IOException {
+        ProfilePictureCache cache = cache(1000, 1000, Duration.ofMinutes(10));
+        byte[] content = upload("large.png", 500);
+        load(cache, "large.png", 500);
+
+        ProfilePictureCache.CachedPicture cached = cache.get("large.png").orElseThrow();
+        cache.invalidate("large.png");
+
+        assertThat(directory.resolve(ProfilePictureCache.SUBDIRECTORY)).isEmptyDirectory();
+        assertThat(cached.image().getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    @DisplayName("Should only delete its own files from the cache directory on startup")
+    void prepareDirectory_keepsForeignFiles() throws IOException {
+        Path subdirectory = Files.createDirectories(directory.resolve(ProfilePictureCache.SUBDIRECTORY));
+        Path unrelated = Files.writeString(directory.resolve("unrelated.txt"), "keep");
+        Path foreign = Files.writeString(subdirectory.resolve("foreign.txt"), "keep");
+        Path leftover = Files.writeString(subdirectory.resolve("picture-123.img"), "stale");
+
+        cache(1000, 1000, Duration.ofMinutes(10));
+
+        assertThat(unrelated).exists();
+        assertThat(foreign).exists();
+        assertThat(leftover).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should remove an invalidated picture from both tiers and from disk")
+    void invalidate_removesPicture() {
+        ProfilePictureCache cache = cache(1000, 1000, Duration.ofMinutes(10));
+        upload("small.png", 50);
+        load(cache, "small.png", 50);
+
+        cache.invalidate("small.png");
+
+        assertThat(cache.get("small.png")).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.heapSize()).isZero();
+        assertThat(directory.resolve(ProfilePictureCache.SUBDIRECTORY)).isEmptyDirectory();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used pictures when the disk budget is exceeded")
+    void load_evictsLeastRecentlyUsed() throws IOException {
+        ProfilePictureCache cache = cache(1000, 1000, Duration.ofMinutes(10));
+        upload("first.png", 400);
+        upload("second.png", 400);
+        upload("third.png", 400);
+
+        load(cache, "first.png", 400);
+        load(cache, "second.png", 400);
+        cache.get("first.png");
+        load(cache, "third.png", 400);
+
+        assertThat(cache.get("first.png")).isPresent();
+        assertThat(cache.get("second.png")).isEmpty();
+        assertThat(cache.get("third.png")).isPresent();
+        try (var files = Files.list(directory.resolve(ProfilePictureCache.SUBDIRECTORY))) {
+            assertThat(files.count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not cache pictures larger than the entry budget")
+    void load_tooLarge() {
+        ProfilePictureCache cache = cache(1000, 10_000, Duration.ofMinutes(10));
+        upload("huge.png", 2000);
+
+        assertThat(load(cache, "huge.png", 2000)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop expired pictures")
+    void get_expired() {
+        ProfilePictureCache cache = cache(1000, 1000, Duration.ZERO);
+        upload("small.png", 50);
+
+        assertThat(load(cache, "small.png", 50)).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void disabled() {
+        ProfilePictureCache cache = new ProfilePictureCache(storage, false, directory,
+                DataSize.ofBytes(1000), DataSize.ofBytes(100), DataSize.ofBytes(1000), DataSize.ofBytes(1000),
+                Duration.ofMinutes(10));
+        upload("small.png", 50);
+
+        assertThat(load(cache, "small.png", 50)).isEmpty();
+        assertThat(cache.get("small.png")).isEmpty();
+    }
+}
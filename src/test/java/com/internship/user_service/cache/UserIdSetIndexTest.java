@@ -0,0 +1,147 @@
+package com.internship.user_service.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserIdSetIndexTest {
+
+    private static final Long USER_ID = 1L;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger fallbacks = new AtomicInteger();
+
+    private BiFunction<Long, Limit, List<Long>> loader(List<Long> ids) {
+        return (userId, limit) -> {
+            loads.incrementAndGet();
+            return ids;
+        };
+    }
+
+    private boolean fallback() {
+        fallbacks.incrementAndGet();
+        return true;
+    }
+
+    @Test
+    @DisplayName("Should load the related ids once and answer later checks from memory")
+    void contains_loadsOnce() {
+        UserIdSetIndex index = new UserIdSetIndex(true, 10, 10, Duration.ofMinutes(1));
+
+        assertThat(index.contains(USER_ID, 5L, loader(List.of(7L, 5L, 3L)), this::fallback)).isTrue();
+        assertThat(index.contains(USER_ID, 4L, loader(List.of(7L, 5L, 3L)), this::fallback)).isFalse();
+        assertThat(index.contains(USER_ID, 7L, loader(List.of(7L, 5L, 3L)), this::fallback)).isTrue();
+
+        assertThat(loads).hasValue(1);
+        assertThat(fallbacks).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should load the related ids again once they expired")
+    void contains_reloadsExpired() {
+        UserIdSetIndex index = new UserIdSetIndex(true, 10, 10, Duration.ZERO);
+
+        assertThat(index.contains(USER_ID, 5L, loader(List.of(5L)), this::fallback)).isTrue();
+        assertThat(index.contains(USER_ID, 5L, loader(List.of()), this::fallback)).isFalse();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should always use the fallback when disabled")
+    void contains_disabled() {
+        UserIdSetIndex index = new UserIdSetIndex(false, 10, 10, Duration.ofMinutes(1));
+
+        assertThat(index.contains(USER_ID, 5L, loader(List.of()), this::fallback)).isTrue();
+
+        assertThat(loads).hasValue(0);
+        assertThat(fallbacks).hasValue(1);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not index users with more related ids than the budget")
+    void contains_oversizedUser() {
+        UserIdSetIndex index = new UserIdSetIndex(true, 10, 2, Duration.ofMinutes(1));
+
+        index.contains(USER_ID, 9L, loader(List.of(1L, 2L, 3L)), this::fallback);
+        index.contains(USER_ID, 9L, loader(List.of(1L, 2L, 3L)), this::fallback);
+
+        assertThat(loads).hasValue(1);
+        assertThat(fallbacks).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used user when the user budget is exceeded")
+    void contains_evictsLeastRecentlyUsed() {
+        UserIdSetIndex index = new UserIdSetIndex(true, 2, 10, Duration.ofMinutes(1));
+
+        index.contains(1L, 9L, loader(List.of()), this::fallback);
+        index.contains(2L, 9L, loader(List.of()), this::fallback);
+        index.contains(1L, 9L, loader(List.of()), this::fallback);
+        index.contains(3L, 9L, loader(List.of()), this::fallback);
+        index.contains(1L, 9L, loader(List.of()), this::fallback);
+        index.contains(2L, 9L, loader(List.of()), this::fallback);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should apply added and removed relationships to indexed users")
+    void recordAddedAndRemoved() {
+        UserIdSetIndex index = new UserIdSetIndex(true, 10, 10, Duration.ofMinutes(1));
+        index.contains(USER_ID, 5L, loader(List.of(3L, 7L)), this::fallback);
+
+        index.recordAdded(USER_ID, 5L);
+        index.recordRemoved(USER_ID, 7L);
+
+        assertThat(index.contains(USER_ID, 5L, loader(List.of()), this::fallback)).isTrue();
+        assertThat(index.contains(USER_ID, 7L, loader(List.of()), this::fallback)).isFalse();
+        assertThat(index.contains(USER_ID, 3L, loader(List.of()), this::fallback)).isTrue();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should apply changes only after the surrounding transaction commits")
+    void recordAdded_waitsForCommit() {
+        UserIdSetIndex index = new UserIdSetIndex(true, 10, 10, Duration.ofMinutes(1));
+        index.contains(USER_ID, 5L, loader(List.of()), this::fallback);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.recordAdded(USER_ID, 5L);
+            assertThat(index.contains(USER_ID, 5L, loader(List.of()), this::fallback)).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(index.contains(USER_ID, 5L, loader(List.of()), this::fallback)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should discard a load that overlaps a write")
+    void contains_discardsStaleLoad() {
+        UserIdSetIndex index = new UserIdSetIndex(true, 10, 10, Duration.ofMinutes(1));
+
+        boolean blocked = index.contains(USER_ID, 5L, (userId, limit) -> {
+            index.recordAdded(USER_ID, 5L);
+            return List.of();
+        }, this::fallback);
+
+        assertThat(blocked).isFalse();
+        assertThat(index.size()).isZero();
+        assertThat(index.contains(USER_ID, 5L, loader(List.of(5L)), this::fallback)).isTrue();
+    }
+}
@@ -0,0 +1,70 @@
+package com.internship.user_service.enums;
+
+import com.internship.user_service.converter.JobCategoryConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserEnumTest {
+
+    private enum SparseEnum implements UserEnum {
+        NEGATIVE(-5),
+        LARGE(100_000);
+
+        private final int id;
+
+        SparseEnum(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(JobCategory.class)
+    void fromId_shouldFindEveryCategory(JobCategory category) {
+        assertSame(category, JobCategory.fromId(category.getId()));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(ints = {-1, 14, 1000})
+    void fromId_shouldRejectUnknownIds(Integer id) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> JobCategory.fromId(id));
+        assertEquals("Invalid JobCategory id: " + id, exception.getMessage());
+    }
+
+    @Test
+    void fromId_shouldFindSparseIds() {
+        assertSame(SparseEnum.NEGATIVE, UserEnum.fromId(SparseEnum.class, -5));
+        assertSame(SparseEnum.LARGE, UserEnum.fromId(SparseEnum.class, 100_000));
+        assertThrows(IllegalArgumentException.class, () -> UserEnum.fromId(SparseEnum.class, 0));
+    }
+
+    @Test
+    void categoryMask_shouldRoundTrip() {
+        List<JobCategory> categories = List.of(JobCategory.ALL, JobCategory.CARPENTER, JobCategory.DELIVERY_DRIVER);
+
+        assertEquals(categories, JobCategory.fromMask(JobCategory.toMask(categories)));
+        assertEquals(List.of(), JobCategory.fromMask(0));
+    }
+
+    @Test
+    void converter_shouldStoreCategoriesById() {
+        JobCategoryConverter converter = new JobCategoryConverter();
+
+        assertEquals(5, converter.convertToDatabaseColumn(JobCategory.MECHANIC));
+        assertSame(JobCategory.MECHANIC, converter.convertToEntityAttribute(5));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
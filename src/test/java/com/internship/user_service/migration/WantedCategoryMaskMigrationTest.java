@@ -0,0 +1,52 @@
+package com.internship.user_service.migration;
+
+import com.internship.user_service.repository.PreferencesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WantedCategoryMaskMigrationTest {
+
+    @Mock
+    private PreferencesRepository preferencesRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private WantedCategoryMaskMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        migration = new WantedCategoryMaskMigration(preferencesRepository, transactionTemplate, 2);
+    }
+
+    @Test
+    void migrate_shouldSkipBackfill_whenEveryMaskIsSet() {
+        when(preferencesRepository.existsByWantedCategoryMaskIsNull()).thenReturn(false);
+
+        migration.migrate();
+
+        verify(preferencesRepository, never()).migrateWantedCategoryMasks(anyInt());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void migrate_shouldBackfillInBatches_eachInItsOwnTransaction() {
+        when(preferencesRepository.existsByWantedCategoryMaskIsNull()).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(preferencesRepository.migrateWantedCategoryMasks(2)).thenReturn(2, 2, 1);
+
+        migration.migrate();
+
+        verify(preferencesRepository, times(3)).migrateWantedCategoryMasks(2);
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+}
@@ -4,9 +4,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Primary;
@@ -38,6 +47,9 @@ class RabbitMQConfigTest {
         ReflectionTestUtils.setField(rabbitMQConfig, "rabbitmqHost", testHost);
         ReflectionTestUtils.setField(rabbitMQConfig, "username", testUsername);
         ReflectionTestUtils.setField(rabbitMQConfig, "password", testPassword);
+        ReflectionTestUtils.setField(rabbitMQConfig, "channelCacheSize", 25);
+        ReflectionTestUtils.setField(rabbitMQConfig, "publisherConfirms", true);
+        ReflectionTestUtils.setField(rabbitMQConfig, "publisherReturns", true);
 
         ConnectionFactory factory = rabbitMQConfig.connectionFactory();
 
@@ -47,6 +59,9 @@ class RabbitMQConfigTest {
         CachingConnectionFactory cachingFactory = (CachingConnectionFactory) factory;
         assertEquals("test-host", cachingFactory.getHost());
         assertEquals("test-user", cachingFactory.getUsername());
+        assertEquals(25, cachingFactory.getChannelCacheSize());
+        assertTrue(cachingFactory.isPublisherConfirms());
+        assertTrue(cachingFactory.isPublisherReturns());
     }
 
     @Test
@@ -60,10 +75,69 @@ class RabbitMQConfigTest {
         assertInstanceOf(Jackson2JsonMessageConverter.class, template.getMessageConverter());
     }
 
+    @Test
+    void rabbitListenerContainerFactory_shouldApplyListenerSettings() {
+        ReflectionTestUtils.setField(rabbitMQConfig, "prefetch", 50);
+        ReflectionTestUtils.setField(rabbitMQConfig, "concurrency", 2);
+        ReflectionTestUtils.setField(rabbitMQConfig, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(rabbitMQConfig, "acknowledgeMode", AcknowledgeMode.AUTO);
+        ReflectionTestUtils.setField(rabbitMQConfig, "retryMaxAttempts", 3);
+        ConnectionFactory mockConnectionFactory = mock(ConnectionFactory.class);
+
+        SimpleRabbitListenerContainerFactory factory = rabbitMQConfig.rabbitListenerContainerFactory(
+                mockConnectionFactory, mock(MessageRecoverer.class));
+
+        assertEquals(mockConnectionFactory, ReflectionTestUtils.getField(factory, "connectionFactory"));
+        assertEquals(50, ReflectionTestUtils.getField(factory, "prefetchCount"));
+        assertEquals(2, ReflectionTestUtils.getField(factory, "concurrentConsumers"));
+        assertEquals(4, ReflectionTestUtils.getField(factory, "maxConcurrentConsumers"));
+        assertEquals(AcknowledgeMode.AUTO, ReflectionTestUtils.getField(factory, "acknowledgeMode"));
+        assertEquals(false, ReflectionTestUtils.getField(factory, "defaultRequeueRejected"));
+        assertEquals(1, factory.getAdviceChain().length);
+    }
+
+    @Test
+    void deadLetterRecoverer_shouldRepublishToDeadLetterExchange() {
+        ReflectionTestUtils.setField(rabbitMQConfig, "deadLetterExchange", "user-service.dlx");
+        ReflectionTestUtils.setField(rabbitMQConfig, "deadLetterQueue", "user-service.dlq");
+
+        MessageRecoverer recoverer = rabbitMQConfig.deadLetterRecoverer(mock(AmqpTemplate.class));
+        Declarables declarables = rabbitMQConfig.deadLetterDeclarables();
+
+        assertInstanceOf(RepublishMessageRecoverer.class, recoverer);
+        assertEquals("user-service.dlx", declarables.getDeclarablesByType(DirectExchange.class).get(0).getName());
+        assertEquals("user-service.dlq", declarables.getDeclarablesByType(Queue.class).get(0).getName());
+        assertEquals("user-service.dlq", declarables.getDeclarablesByType(Binding.class).get(0).getRoutingKey());
+    }
+
     @Test
     void amqpTemplate_shouldBePrimaryBean() throws NoSuchMethodException {
         assertNotNull(RabbitMQConfig.class
                 .getMethod("amqpTemplate", ConnectionFactory.class)
                 .getAnnotation(Primary.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deleteUserListenerContainerFactory_shouldCreateBatchingFactory() {
+        ReflectionTestUtils.setField(rabbitMQConfig, "deleteUserBatchSize", 100);
+        ReflectionTestUtils.setField(rabbitMQConfig, "deleteUserReceiveTimeout", 500L);
+        ReflectionTestUtils.setField(rabbitMQConfig, "deleteUserPrefetch", 50);
+        ReflectionTestUtils.setField(rabbitMQConfig, "deleteUserConcurrency", 2);
+        ReflectionTestUtils.setField(rabbitMQConfig, "deleteUserMaxConcurrency", 1);
+        ConnectionFactory mockConnectionFactory = mock(ConnectionFactory.class);
+
+        SimpleRabbitListenerContainerFactory factory =
+                rabbitMQConfig.deleteUserListenerContainerFactory(mockConnectionFactory, mock(MessageRecoverer.class));
+
+        assertEquals(mockConnectionFactory, ReflectionTestUtils.getField(factory, "connectionFactory"));
+        assertInstanceOf(Jackson2JsonMessageConverter.class, ReflectionTestUtils.getField(factory, "messageConverter"));
+        assertEquals(true, ReflectionTestUtils.getField(factory, "batchListener"));
+        assertEquals(true, ReflectionTestUtils.getField(factory, "consumerBatchEnabled"));
+        assertEquals(100, ReflectionTestUtils.getField(factory, "batchSize"));
+        assertEquals(500L, ReflectionTestUtils.getField(factory, "receiveTimeout"));
+        assertEquals(100, ReflectionTestUtils.getField(factory, "prefetchCount"));
+        assertEquals(2, ReflectionTestUtils.getField(factory, "concurrentConsumers"));
+        assertEquals(2, ReflectionTestUtils.getField(factory, "maxConcurrentConsumers"));
+        assertEquals(1, factory.getAdviceChain().length);
+    }
+}
@@ -1,81 +1,156 @@
 package com.internship.user_service.rabbitmq.consumer;
 
-import com.internship.user_service.model.User;
-import com.internship.user_service.rabbitmq.Message;
-import com.internship.user_service.repository.UserRepository;
-import org.junit.jupiter.api.AfterEach;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.constants.CacheNames;
+import com.internship.user_service.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import ch.qos.logback.core.read.ListAppender;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.Logger;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DeleteUserConsumerTest {
 
     @Mock
-    private UserRepository userRepository;
+    private UserService userService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private Cache preferencesCache;
+
+    @Mock
+    private MessageRecoverer deadLetterRecoverer;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @InjectMocks
     private DeleteUserConsumer deleteUserConsumer;
 
     private ListAppender<ILoggingEvent> logWatcher;
 
-    private Message message;
-    private User user;
-
     @BeforeEach
     void beforeEach() {
-        message = new Message(1L);
-
-        user = User.builder()
-                .id(1L)
-                .name("Name")
-                .surname("Surname")
-                .email("email@email.com")
-                .build();
-
         logWatcher = new ListAppender<>();
         logWatcher.start();
         ((Logger) LoggerFactory.getLogger(DeleteUserConsumer.class)).addAppender(logWatcher);
     }
 
     @Test
-    void consumeMessage_shouldDeleteUser_whenUserExists() {
+    void consumeMessages_shouldDeleteUsersInOneCall_andEvictThem() {
+        when(userService.deleteUsers(new LinkedHashSet<>(List.of(1L, 2L)))).thenReturn(Set.of(1L, 2L));
+        when(cacheManager.getCache(CacheNames.USERS)).thenReturn(cache);
+        when(cacheManager.getCache(CacheNames.PREFERENCES)).thenReturn(preferencesCache);
+
+        deleteUserConsumer.consumeMessages(List.of(message(1L), message(2L), message(1L), message(null)));
+
+        verify(userService, times(1)).deleteUsers(any());
+        verify(cache).evict(1L);
+        verify(cache).evict(2L);
+        verify(preferencesCache).evict(1L);
+        verify(preferencesCache).evict(2L);
+        assertEquals("Attempting to delete 2 users.", logWatcher.list.get(0).getFormattedMessage());
+        assertEquals(1, logWatcher.list.size());
+    }
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        doNothing().when(userRepository).delete(user);
+    @Test
+    void consumeMessages_shouldLogMissingUsers() {
+        when(userService.deleteUsers(new LinkedHashSet<>(List.of(1L, 3L)))).thenReturn(Set.of(3L));
+        when(cacheManager.getCache(CacheNames.USERS)).thenReturn(cache);
 
-        deleteUserConsumer.consumeMessage(message);
+        deleteUserConsumer.consumeMessages(List.of(message(1L), message(3L)));
 
-        verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).delete(user);
+        verify(cache).evict(3L);
+        verify(cache, never()).evict(1L);
+        assertEquals("User with id 1 not found.", logWatcher.list.get(1).getFormattedMessage());
     }
 
     @Test
-    void consumeMessage_shouldNotDeleteUser_whenUserDoesNotExist() {
+    void consumeMessages_shouldDeleteOneByOne_andDeadLetterOnlyFailingUser_whenBatchFails() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk_availabilities_user");
+        when(userService.deleteUsers(new LinkedHashSet<>(List.of(1L, 2L, 3L)))).thenThrow(violation);
+        when(userService.deleteUsers(Set.of(1L))).thenReturn(Set.of(1L));
+        when(userService.deleteUsers(Set.of(2L))).thenThrow(violation);
+        when(userService.deleteUsers(Set.of(3L))).thenReturn(Set.of());
+        when(cacheManager.getCache(CacheNames.USERS)).thenReturn(cache);
+
+        Message failing = message(2L);
+        Message failingAgain = message(2L);
+        deleteUserConsumer.consumeMessages(List.of(message(1L), failing, message(3L), failingAgain));
+
+        ArgumentCaptor<Message> deadLettered = ArgumentCaptor.forClass(Message.class);
+        verify(deadLetterRecoverer, times(2)).recover(deadLettered.capture(), eq(violation));
+        assertSame(failing, deadLettered.getAllValues().get(0));
+        assertSame(failingAgain, deadLettered.getAllValues().get(1));
+        assertEquals("trace-2", deadLettered.getValue().getMessageProperties().getHeader("x-trace-id"));
+        verify(cache).evict(1L);
+        verify(cache, never()).evict(2L);
+        verify(cache, never()).evict(3L);
+        assertEquals(1, logWatcher.list.stream()
+                .filter(event -> event.getFormattedMessage().equals("User with id 3 not found."))
+                .count());
+        assertEquals(0, logWatcher.list.stream()
+                .filter(event -> event.getFormattedMessage().equals("User with id 2 not found."))
+                .count());
+    }
 
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+    @Test
+    void consumeMessages_shouldFailWholeBatch_whenErrorIsNotAConstraintViolation() {
+        when(userService.deleteUsers(any())).thenThrow(new IllegalStateException("connection refused"));
 
-        deleteUserConsumer.consumeMessage(message);
+        assertThrows(IllegalStateException.class,
+                () -> deleteUserConsumer.consumeMessages(List.of(message(1L), message(2L))));
 
-        verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, never()).delete(any());
-        assertEquals("User with id 1 not found.", logWatcher.list.get(1).getFormattedMessage());
+        verify(userService, times(1)).deleteUsers(any());
+        verifyNoInteractions(deadLetterRecoverer);
+    }
+
+    @Test
+    void consumeMessages_shouldDeadLetterUnreadableMessage_andDeleteTheOthers() {
+        Message unreadable = new Message("not json".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+        when(userService.deleteUsers(Set.of(1L))).thenReturn(Set.of(1L));
+        when(cacheManager.getCache(CacheNames.USERS)).thenReturn(cache);
+
+        deleteUserConsumer.consumeMessages(List.of(unreadable, message(1L)));
+
+        verify(cache).evict(1L);
+        verify(deadLetterRecoverer).recover(same(unreadable), isA(IOException.class));
     }
 
-    @AfterEach
-    void afterEach() {
-        assertEquals("Attempting to delete user with id: 1", logWatcher.list.get(0).getFormattedMessage());
+    private static Message message(Long userId) {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader("x-trace-id", "trace-" + userId);
+        String body = "{\"userId\":" + userId + "}";
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
     }
-}
\ No newline at end of file
+}
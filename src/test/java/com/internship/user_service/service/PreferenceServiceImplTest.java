@@ -1,6 +1,8 @@
 package com.internship.user_service.service;
 
 import com.internship.user_service.dto.PreferencesDTO;
+import com.internship.user_service.dto.PreferencesPageResponse;
+import com.internship.user_service.enums.CategoryStorage;
 import com.internship.user_service.enums.JobCategory;
 import com.internship.user_service.exception.ConflictException;
 import com.internship.user_service.exception.UserNotFoundException;
@@ -10,13 +12,19 @@ import com.internship.user_service.model.WantedCategory;
 import com.internship.user_service.model.WantedCategoryId;
 import com.internship.user_service.repository.PreferencesRepository;
 import com.internship.user_service.repository.UserRepository;
+import com.internship.user_service.repository.projection.PreferencesCategoryView;
+import com.internship.user_service.repository.projection.PreferencesMaskView;
 import com.internship.user_service.service.impl.PreferenceServiceImpl;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -34,7 +42,6 @@ class PreferenceServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private PreferenceServiceImpl preferenceService;
 
     private User user;
@@ -43,6 +50,9 @@ class PreferenceServiceImplTest {
 
     @BeforeEach
     void beforeEach() {
+        preferenceService = new PreferenceServiceImpl(userRepository, preferencesRepository, CategoryStorage.TABLE, 2, 10);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("1", null));
+
         user = User.builder()
                 .id(1L)
                 .email("email@email.com")
@@ -56,7 +66,7 @@ class PreferenceServiceImplTest {
                         List.of(
                                 WantedCategory.builder()
                                         .preferences(preferences)
-                                        .wantedCategoryId(new WantedCategoryId(JobCategory.ALL, user.getId()))
+                                        .wantedCategoryId(WantedCategoryId.of(JobCategory.ALL, user.getId()))
                                         .build()
                         ))
                 )
@@ -70,6 +80,11 @@ class PreferenceServiceImplTest {
                 .build();
     }
 
+    @AfterEach
+    void afterEach() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void setPreferences_shouldSetPreferences_whenUserExistsAndHasNoPreferences() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
@@ -123,6 +138,79 @@ class PreferenceServiceImplTest {
         assertEquals(List.of(JobCategory.ALL), result.getWantedCategories());
     }
 
+    @Test
+    void updatePreferences_shouldOnlyAddAndRemoveChangedCategories() {
+        WantedCategory unchanged = preferences.getWantedCategories().get(0);
+        preferencesDTO.setWantedCategories(List.of(JobCategory.ALL, JobCategory.PLUMBER));
+        when(preferencesRepository.findById(anyLong())).thenReturn(Optional.of(preferences));
+
+        preferenceService.updatePreferences(preferencesDTO);
+
+        ArgumentCaptor<Preferences> captor = ArgumentCaptor.forClass(Preferences.class);
+        verify(preferencesRepository).save(captor.capture());
+        List<WantedCategory> wantedCategories = captor.getValue().getWantedCategories();
+        assertEquals(2, wantedCategories.size());
+        assertSame(unchanged, wantedCategories.get(0));
+        assertEquals(JobCategory.PLUMBER, wantedCategories.get(1).getWantedCategoryId().getCategory());
+        assertEquals(JobCategory.PLUMBER.getId(), wantedCategories.get(1).getWantedCategoryId().getCategoryId().intValue());
+        assertEquals(JobCategory.ALL.bit() | JobCategory.PLUMBER.bit(), captor.getValue().getWantedCategoryMask());
+    }
+
+    @Test
+    void setPreferences_shouldOnlyWriteMask_whenStoredAsBitmask() {
+        preferenceService = new PreferenceServiceImpl(userRepository, preferencesRepository, CategoryStorage.BITMASK, 2, 10);
+        preferencesDTO.setWantedCategories(List.of(JobCategory.PLUMBER, JobCategory.DELIVERY_DRIVER));
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(preferencesRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        preferenceService.setPreferences(preferencesDTO);
+
+        ArgumentCaptor<Preferences> captor = ArgumentCaptor.forClass(Preferences.class);
+        verify(preferencesRepository).save(captor.capture());
+        assertTrue(captor.getValue().getWantedCategories().isEmpty());
+        assertEquals((1L << 1) | (1L << 13), captor.getValue().getWantedCategoryMask());
+    }
+
+    @Test
+    void updatePreferences_shouldRemoveCategoryRows_whenStoredAsBitmask() {
+        preferenceService = new PreferenceServiceImpl(userRepository, preferencesRepository, CategoryStorage.BITMASK, 2, 10);
+        preferencesDTO.setWantedCategories(List.of(JobCategory.PLUMBER));
+        when(preferencesRepository.findById(anyLong())).thenReturn(Optional.of(preferences));
+
+        preferenceService.updatePreferences(preferencesDTO);
+
+        ArgumentCaptor<Preferences> captor = ArgumentCaptor.forClass(Preferences.class);
+        verify(preferencesRepository).save(captor.capture());
+        assertTrue(captor.getValue().getWantedCategories().isEmpty());
+        assertEquals(JobCategory.PLUMBER.bit(), captor.getValue().getWantedCategoryMask());
+    }
+
+    @Test
+    void getPreferences_shouldDecodeMask_whenStoredAsBitmask() {
+        preferenceService = new PreferenceServiceImpl(userRepository, preferencesRepository, CategoryStorage.BITMASK, 2, 10);
+        PreferencesMaskView view = mock(PreferencesMaskView.class);
+        when(view.getUserId()).thenReturn(1L);
+        when(view.getWantedCategoryMask()).thenReturn(JobCategory.toMask(List.of(JobCategory.PAINTER, JobCategory.ALL)));
+        when(preferencesRepository.findMaskViewByUserId(1L)).thenReturn(Optional.of(view));
+
+        PreferencesDTO result = preferenceService.getPreferences(1L);
+
+        assertEquals(1L, result.getUserId());
+        assertEquals(List.of(JobCategory.ALL, JobCategory.PAINTER), result.getWantedCategories());
+        verify(preferencesRepository, never()).findViewsByUserId(anyLong());
+    }
+
+    @Test
+    void getPreferences_shouldReadRows_whenMaskIsNotMigratedYet() {
+        preferenceService = new PreferenceServiceImpl(userRepository, preferencesRepository, CategoryStorage.BITMASK, 2, 10);
+        when(preferencesRepository.findMaskViewByUserId(1L)).thenReturn(Optional.of(mock(PreferencesMaskView.class)));
+        when(preferencesRepository.findViewsByUserId(1L)).thenReturn(List.of(preferencesView(JobCategory.ALL)));
+
+        PreferencesDTO result = preferenceService.getPreferences(1L);
+
+        assertEquals(List.of(JobCategory.ALL), result.getWantedCategories());
+    }
+
     @Test
     void updatePreferences_shouldThrowUserNotFoundException_whenUserDoesNotExist() {
         when(preferencesRepository.findById(anyLong())).thenReturn(Optional.empty());
@@ -135,7 +223,7 @@ class PreferenceServiceImplTest {
 
     @Test
     void getPreferences_shouldThrowException_forNonExistingUser() {
-        when(preferencesRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(preferencesRepository.findViewsByUserId(anyLong())).thenReturn(List.of());
 
         UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
@@ -148,13 +236,89 @@ class PreferenceServiceImplTest {
 
     @Test
     void getPreferences_shouldReturnPreferences_forExistingUser() {
-        when(preferencesRepository.findById(anyLong())).thenReturn(Optional.of(preferences));
+        when(preferencesRepository.findViewsByUserId(1L)).thenReturn(List.of(
+                preferencesView(JobCategory.ALL),
+                preferencesView(JobCategory.PLUMBER)));
 
-        PreferencesDTO result = preferenceService.getPreferences(anyLong());
+        PreferencesDTO result = preferenceService.getPreferences(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.getUserId());
         assertEquals(2, result.getPreferredExperience());
         assertEquals(3.0, result.getPreferredDistance());
+        assertEquals(List.of(JobCategory.ALL, JobCategory.PLUMBER), result.getWantedCategories());
+        verify(preferencesRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getPreferences_shouldReturnNoCategories_whenNoneAreWanted() {
+        when(preferencesRepository.findViewsByUserId(1L)).thenReturn(List.of(preferencesView(null)));
+
+        PreferencesDTO result = preferenceService.getPreferences(1L);
+
+        assertEquals(List.of(), result.getWantedCategories());
+    }
+
+    @Test
+    void searchPreferences_shouldReturnPageAndCursor_fromCategoryIndex() {
+        when(preferencesRepository.findPageByWantedCategory(List.of(JobCategory.ELECTRICIAN.getId(), JobCategory.ALL.getId()),
+                5L, 10.0, 2, Limit.of(3)))
+                .thenReturn(List.of(maskView(6L, JobCategory.ELECTRICIAN.bit()), maskView(8L, null), maskView(9L, 0L)));
+        when(preferencesRepository.findViewsByUserId(8L))
+                .thenReturn(List.of(preferencesView(JobCategory.ELECTRICIAN), preferencesView(JobCategory.PAINTER)));
+
+        PreferencesPageResponse result = preferenceService.searchPreferences(JobCategory.ELECTRICIAN, 10.0, 2, 5L, null);
+
+        assertEquals(2, result.getPreferences().size());
+        assertEquals(8L, result.getNextCursor());
+        assertEquals(List.of(JobCategory.ELECTRICIAN, JobCategory.PAINTER), result.getPreferences().get(1).getWantedCategories());
+    }
+
+    @Test
+    void searchPreferences_shouldIncludeUsersWantingAllCategories() {
+        when(preferencesRepository.findPageByWantedCategory(List.of(JobCategory.PLUMBER.getId(), JobCategory.ALL.getId()),
+                Long.MIN_VALUE, Double.MAX_VALUE, Integer.MIN_VALUE, Limit.of(3)))
+                .thenReturn(List.of(maskView(4L, JobCategory.ALL.bit())));
+
+        PreferencesPageResponse result = preferenceService.searchPreferences(JobCategory.PLUMBER, null, null, null, null);
+
+        assertNull(result.getNextCursor());
+        assertEquals(List.of(JobCategory.ALL), result.getPreferences().get(0).getWantedCategories());
+    }
+
+    @Test
+    void searchPreferences_shouldUseBitwisePredicate_whenStoredAsBitmask() {
+        preferenceService = new PreferenceServiceImpl(userRepository, preferencesRepository, CategoryStorage.BITMASK, 2, 10);
+        when(preferencesRepository.findPageByWantedCategoryMask((1L << 2) | 1L, Long.MIN_VALUE, Double.MAX_VALUE, Integer.MIN_VALUE, Limit.of(6)))
+                .thenReturn(List.of(maskView(1L, (1L << 2) | (1L << 4)), maskView(3L, 1L)));
+
+        PreferencesPageResponse result = preferenceService.searchPreferences(JobCategory.ELECTRICIAN, null, null, null, 5);
+
+        assertNull(result.getNextCursor());
+        assertEquals(List.of(JobCategory.ELECTRICIAN, JobCategory.PAINTER), result.getPreferences().get(0).getWantedCategories());
+        assertEquals(List.of(JobCategory.ALL), result.getPreferences().get(1).getWantedCategories());
+    }
+
+    @Test
+    void searchPreferences_shouldRejectInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> preferenceService.searchPreferences(JobCategory.ELECTRICIAN, null, null, null, 11));
+        verifyNoInteractions(preferencesRepository);
+    }
+
+    private static PreferencesMaskView maskView(Long userId, Long mask) {
+        PreferencesMaskView view = mock(PreferencesMaskView.class);
+        lenient().when(view.getUserId()).thenReturn(userId);
+        lenient().when(view.getWantedCategoryMask()).thenReturn(mask);
+        return view;
+    }
+
+    private static PreferencesCategoryView preferencesView(JobCategory category) {
+        PreferencesCategoryView view = mock(PreferencesCategoryView.class);
+        lenient().when(view.getUserId()).thenReturn(1L);
+        lenient().when(view.getPreferredDistance()).thenReturn(3.0);
+        lenient().when(view.getPreferredExperience()).thenReturn(2);
+        when(view.getCategory()).thenReturn(category);
+        return view;
     }
 }
\ No newline at end of file
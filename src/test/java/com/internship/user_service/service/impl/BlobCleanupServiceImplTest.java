@@ -0,0 +1,167 @@
+package com.internship.user_service.service.impl;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageBatch;
+import com.google.cloud.storage.StorageBatchResult;
+import com.google.cloud.storage.StorageException;
+import com.internship.user_service.cache.ProfilePictureCache;
+import com.internship.user_service.model.BlobCleanupTask;
+import com.internship.user_service.repository.BlobCleanupTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlobCleanupServiceImplTest {
+
+    private static final String BUCKET = "testBucketName";
+
+    @Mock
+    private Storage storage;
+
+    @Mock
+    private BlobCleanupTaskRepository blobCleanupTaskRepository;
+
+    @Mock
+    private ProfilePictureCache profilePictureCache;
+
+    @Mock
+    private StorageBatch batch;
+
+    private BlobCleanupServiceImpl blobCleanupService;
+
+    @BeforeEach
+    void setUp() {
+        blobCleanupService = new BlobCleanupServiceImpl(storage, blobCleanupTaskRepository, profilePictureCache,
+                BUCKET, 100, Duration.ofMinutes(1), Duration.ofMinutes(10));
+    }
+
+    private static BlobCleanupTask task(String objectName, int attempts) {
+        return BlobCleanupTask.builder()
+                .objectName(objectName)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private StorageBatchResult<Boolean> result(String objectName) {
+        StorageBatchResult<Boolean> result = mock(StorageBatchResult.class);
+        when(batch.delete(BlobId.of(BUCKET, objectName))).thenReturn(result);
+        return result;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scheduleDeletion_shouldRecordPictureAndThumbnails() {
+        blobCleanupService.scheduleDeletion("pictureUserId_1.jpg");
+
+        ArgumentCaptor<List<BlobCleanupTask>> captor = ArgumentCaptor.forClass(List.class);
+        verify(blobCleanupTaskRepository).saveAll(captor.capture());
+        assertEquals(List.of("pictureUserId_1.jpg", "pictureUserId_1_64.jpg", "pictureUserId_1_256.jpg"),
+                captor.getValue().stream().map(BlobCleanupTask::getObjectName).toList());
+        verify(profilePictureCache).invalidate("pictureUserId_1.jpg");
+        verify(profilePictureCache).invalidate("pictureUserId_1_64.jpg");
+        verify(profilePictureCache).invalidate("pictureUserId_1_256.jpg");
+        verifyNoInteractions(storage);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scheduleDeletion_shouldKeepThumbnailsSharedWithReplacement() {
+        blobCleanupService.scheduleDeletion("pictureUserId_1.gif", "pictureUserId_1.png");
+
+        ArgumentCaptor<List<BlobCleanupTask>> captor = ArgumentCaptor.forClass(List.class);
+        verify(blobCleanupTaskRepository).saveAll(captor.capture());
+        assertEquals(List.of("pictureUserId_1.gif"),
+                captor.getValue().stream().map(BlobCleanupTask::getObjectName).toList());
+        verify(profilePictureCache).invalidate("pictureUserId_1.gif");
+        verify(profilePictureCache, never()).invalidate("pictureUserId_1_64.png");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void scheduleDeletion_shouldIgnoreMissingPicture(String pictureName) {
+        blobCleanupService.scheduleDeletion(pictureName);
+
+        verifyNoInteractions(blobCleanupTaskRepository, profilePictureCache, storage);
+    }
+
+    @Test
+    void cancelDeletion_shouldRemovePendingTasks() {
+        blobCleanupService.cancelDeletion("pictureUserId_1.png");
+
+        verify(blobCleanupTaskRepository)
+                .deleteByObjectNameIn(List.of("pictureUserId_1.png", "pictureUserId_1_64.png", "pictureUserId_1_256.png"));
+    }
+
+    @Test
+    void deleteDueBlobs_shouldDoNothing_whenNoTaskIsDue() {
+        when(blobCleanupTaskRepository.findDueForUpdate(any(LocalDateTime.class), eq(Limit.of(100)))).thenReturn(List.of());
+
+        blobCleanupService.deleteDueBlobs();
+
+        verifyNoInteractions(storage);
+        verify(blobCleanupTaskRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void deleteDueBlobs_shouldRemoveDeletedAndMissingObjects_andRetryFailedOnes() {
+        BlobCleanupTask deleted = task("pictureUserId_1.jpg", 0);
+        BlobCleanupTask missing = task("pictureUserId_1_64.jpg", 0);
+        BlobCleanupTask failed = task("pictureUserId_1_256.jpg", 2);
+        when(blobCleanupTaskRepository.findDueForUpdate(any(LocalDateTime.class), eq(Limit.of(100))))
+                .thenReturn(List.of(deleted, missing, failed));
+        when(storage.batch()).thenReturn(batch);
+        when(result("pictureUserId_1.jpg").get()).thenReturn(true);
+        when(result("pictureUserId_1_64.jpg").get()).thenReturn(false);
+        when(result("pictureUserId_1_256.jpg").get()).thenThrow(new StorageException(503, "Service Unavailable"));
+
+        LocalDateTime before = LocalDateTime.now();
+        blobCleanupService.deleteDueBlobs();
+
+        verify(batch).submit();
+        verify(blobCleanupTaskRepository).deleteAllInBatch(List.of(deleted, missing));
+        assertEquals(3, failed.getAttempts());
+        assertFalse(failed.getNextAttemptAt().isBefore(before.plusMinutes(4)));
+    }
+
+    @Test
+    void deleteDueBlobs_shouldRetryEveryTask_whenBatchFails() {
+        BlobCleanupTask first = task("pictureUserId_1.jpg", 0);
+        BlobCleanupTask second = task("pictureUserId_2.jpg", 0);
+        when(blobCleanupTaskRepository.findDueForUpdate(any(LocalDateTime.class), eq(Limit.of(100))))
+                .thenReturn(List.of(first, second));
+        when(storage.batch()).thenReturn(batch);
+        result("pictureUserId_1.jpg");
+        result("pictureUserId_2.jpg");
+        doThrow(new StorageException(503, "Service Unavailable")).when(batch).submit();
+
+        blobCleanupService.deleteDueBlobs();
+
+        assertEquals(1, first.getAttempts());
+        assertEquals(1, second.getAttempts());
+        verify(blobCleanupTaskRepository, never()).deleteAllInBatch(any());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1", "2, 2", "3, 4", "4, 8", "5, 10", "50, 10"})
+    void backoff_shouldDoubleUpToTheMaximum(int attempts, long expectedMinutes) {
+        assertEquals(Duration.ofMinutes(expectedMinutes), blobCleanupService.backoff(attempts));
+    }
+}
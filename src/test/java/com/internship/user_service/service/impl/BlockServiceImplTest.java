@@ -1,5 +1,6 @@
 package com.internship.user_service.service.impl;
 
+import com.internship.user_service.cache.RelationshipIndex;
 import com.internship.user_service.exception.AlreadyExistsException;
 import com.internship.user_service.exception.UserNotFoundException;
 import com.internship.user_service.model.Block;
@@ -15,16 +16,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +43,9 @@ class BlockServiceImplTest {
     @Mock
     private FavoriteService favoriteService;
 
+    @Spy
+    private RelationshipIndex relationshipIndex = new RelationshipIndex(false, 0, 0, Duration.ZERO);
+
     @InjectMocks
     private BlockServiceImpl blockService;
 
@@ -421,7 +426,50 @@ class BlockServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("getBlockedCandidates Tests")
+    class GetBlockedCandidatesTests {
+
+        @Test
+        @DisplayName("Should return the blocked candidates found by a single query")
+        void getBlockedCandidates_returnsBlockedSubset() {
+            // Arrange
+            Set<Long> candidateIds = Set.of(BLOCKED_USER_ID_1, BLOCKED_USER_ID_2, NON_EXISTENT_USER_ID);
+            when(blockRepository.findBlockedCandidateIds(USER_ID, candidateIds))
+                    .thenReturn(List.of(BLOCKED_USER_ID_1, BLOCKED_USER_ID_2));
 
+            // Act
+            Set<Long> blockedCandidates = blockService.getBlockedCandidates(USER_ID, candidateIds);
+
+            // Assert
+            assertThat(blockedCandidates).containsExactlyInAnyOrder(BLOCKED_USER_ID_1, BLOCKED_USER_ID_2);
+            verify(blockRepository).findBlockedCandidateIds(USER_ID, candidateIds);
+            verifyNoMoreInteractions(blockRepository);
+            verifyNoInteractions(userService, favoriteService);
+        }
+
+        @Test
+        @DisplayName("Should return empty set without querying when there are no candidates")
+        void getBlockedCandidates_noCandidates() {
+            // Act
+            Set<Long> blockedCandidates = blockService.getBlockedCandidates(USER_ID, Set.of());
+
+            // Assert
+            assertThat(blockedCandidates).isEmpty();
+            verifyNoInteractions(blockRepository, userService, favoriteService);
+        }
+
+        @Test
+        @DisplayName("Should throw IllegalArgumentException when userId is null")
+        void getBlockedCandidates_nullUserId() {
+            // Act & Assert
+            assertThatThrownBy(() -> blockService.getBlockedCandidates(null, Set.of(BLOCKED_USER_ID_1)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid userId.");
+
+            verifyNoInteractions(blockRepository, userService, favoriteService);
+        }
+    }
 
     @Nested
     @DisplayName("getBlockedUsersByUserId Tests")
@@ -434,14 +482,10 @@ class BlockServiceImplTest {
         @DisplayName("Should return list of blocked user IDs when user exists and has blocked users")
         void getBlockedUsers_success_usersFound() {
             // Arrange
-
-            List<Block> blocks = Arrays.asList(block1, block2);
             Pageable pageable = PageRequest.of(PAGE_NUM, PAGE_SIZE);
-            Page<Block> blockPage = new PageImpl<>(blocks, pageable, blocks.size());
             List<Long> expectedBlockedIds = Arrays.asList(BLOCKED_USER_ID_1, BLOCKED_USER_ID_2);
 
-            when(userService.getUserEntity(USER_ID)).thenReturn(user);
-            when(blockRepository.findByBlockingUser(user, pageable)).thenReturn(blockPage);
+            when(blockRepository.findBlockedUserIdsByBlockingUserId(USER_ID, pageable)).thenReturn(expectedBlockedIds);
 
             // Act
             List<Long> actualBlockedIds = blockService.getBlockedUsersByUserId(USER_ID, PAGE_NUM, PAGE_SIZE);
@@ -453,8 +497,8 @@ class BlockServiceImplTest {
                     .containsExactlyInAnyOrderElementsOf(expectedBlockedIds);
 
             // Verify interactions
-            verify(userService).getUserEntity(USER_ID);
-            verify(blockRepository).findByBlockingUser(user, pageable);
+            verify(userService).verifyUserExists(USER_ID);
+            verify(blockRepository).findBlockedUserIdsByBlockingUserId(USER_ID, pageable);
             verifyNoMoreInteractions(userService, blockRepository);
             verifyNoInteractions(favoriteService);
         }
@@ -464,10 +508,8 @@ class BlockServiceImplTest {
         void getBlockedUsers_success_noUsersFound() {
             // Arrange
             Pageable pageable = PageRequest.of(PAGE_NUM, PAGE_SIZE);
-            Page<Block> emptyBlockPage = Page.empty(pageable);
 
-            when(userService.getUserEntity(USER_ID)).thenReturn(user);
-            when(blockRepository.findByBlockingUser(user, pageable)).thenReturn(emptyBlockPage);
+            when(blockRepository.findBlockedUserIdsByBlockingUserId(USER_ID, pageable)).thenReturn(List.of());
 
             // Act
             List<Long> actualBlockedIds = blockService.getBlockedUsersByUserId(USER_ID, PAGE_NUM, PAGE_SIZE);
@@ -478,8 +520,8 @@ class BlockServiceImplTest {
                     .isEmpty();
 
             // Verify interactions
-            verify(userService).getUserEntity(USER_ID);
-            verify(blockRepository).findByBlockingUser(user, pageable);
+            verify(userService).verifyUserExists(USER_ID);
+            verify(blockRepository).findBlockedUserIdsByBlockingUserId(USER_ID, pageable);
             verifyNoMoreInteractions(userService, blockRepository);
             verifyNoInteractions(favoriteService);
         }
@@ -488,8 +530,8 @@ class BlockServiceImplTest {
         @DisplayName("Should throw UserNotFoundException when the blocking user does not exist")
         void getBlockedUsers_userNotFound() {
             // Arrange
-            when(userService.getUserEntity(NON_EXISTENT_USER_ID)).thenThrow(
-                    new UserNotFoundException("User not found with id: " + NON_EXISTENT_USER_ID));
+            doThrow(new UserNotFoundException("User not found with id: " + NON_EXISTENT_USER_ID))
+                    .when(userService).verifyUserExists(NON_EXISTENT_USER_ID);
 
             // Act & Assert
             assertThatThrownBy(() -> blockService.getBlockedUsersByUserId(NON_EXISTENT_USER_ID, PAGE_NUM, PAGE_SIZE))
@@ -497,8 +539,7 @@ class BlockServiceImplTest {
                     .hasMessageContaining("User not found");
 
             // Verify interactions
-            verify(userService).getUserEntity(NON_EXISTENT_USER_ID);
-            verify(blockRepository, never()).findByBlockingUser(any(User.class), any(Pageable.class));
+            verify(userService).verifyUserExists(NON_EXISTENT_USER_ID);
             verifyNoMoreInteractions(userService);
             verifyNoInteractions(blockRepository, favoriteService);
         }
@@ -509,23 +550,21 @@ class BlockServiceImplTest {
             // Arrange
             int specificPage = 2;
             int specificSize = 5;
-            Pageable expectedPageable = PageRequest.of(specificPage, specificSize);
 
-            when(userService.getUserEntity(USER_ID)).thenReturn(user);
-            when(blockRepository.findByBlockingUser(eq(user), any(Pageable.class))).thenReturn(Page.empty(expectedPageable));
+            when(blockRepository.findBlockedUserIdsByBlockingUserId(eq(USER_ID), any(Pageable.class))).thenReturn(List.of());
 
             // Act
             blockService.getBlockedUsersByUserId(USER_ID, specificPage, specificSize);
 
             // Assert
-            verify(blockRepository).findByBlockingUser(eq(user), pageableCaptor.capture());
+            verify(blockRepository).findBlockedUserIdsByBlockingUserId(eq(USER_ID), pageableCaptor.capture());
             Pageable actualPageable = pageableCaptor.getValue();
 
             assertThat(actualPageable.getPageNumber()).isEqualTo(specificPage);
             assertThat(actualPageable.getPageSize()).isEqualTo(specificSize);
 
             // Verify other interactions
-            verify(userService).getUserEntity(USER_ID);
+            verify(userService).verifyUserExists(USER_ID);
             verifyNoMoreInteractions(userService, blockRepository);
             verifyNoInteractions(favoriteService);
         }
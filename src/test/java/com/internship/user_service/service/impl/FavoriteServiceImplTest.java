@@ -1,9 +1,12 @@
 package com.internship.user_service.service.impl;
 
+import com.internship.user_service.cache.RelationshipIndex;
 import com.internship.user_service.dto.FavoriteResponse;
+import com.internship.user_service.dto.UserResponse;
 import com.internship.user_service.exception.AlreadyExistsException;
 import com.internship.user_service.exception.UserNotFoundException;
 import com.internship.user_service.mapper.FavoriteMapper;
+import com.internship.user_service.mapper.UserMapper;
 import com.internship.user_service.model.Favorite;
 import com.internship.user_service.model.FavoriteId;
 import com.internship.user_service.model.User;
@@ -17,15 +20,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,12 +42,18 @@ class FavoriteServiceImplTest {
     @Mock
     private FavoriteMapper favoriteMapper;
 
+    @Mock
+    private UserMapper userMapper;
+
     @Mock
     private UserService userService;
 
     @Mock
     private BlockService blockService;
 
+    @Spy
+    private RelationshipIndex relationshipIndex = new RelationshipIndex(false, 0, 0, Duration.ZERO);
+
     @InjectMocks
     private FavoriteServiceImpl favoriteService;
 
@@ -85,8 +97,7 @@ class FavoriteServiceImplTest {
         @DisplayName("Should get favorite users successfully")
         void getFavoriteUsers_success() {
             // Arrange
-            when(userService.getUserEntity(USER_ID)).thenReturn(user);
-            when(favoriteRepository.findByUser(any(User.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(favorite)));
+            when(favoriteRepository.findFavoriteUserIdsByUserId(eq(USER_ID), any(Pageable.class))).thenReturn(List.of(FAVORITE_USER_ID));
 
             // Act
             List<Long> result = favoriteService.getFavoriteUsers(USER_ID, 0, 10);
@@ -98,8 +109,8 @@ class FavoriteServiceImplTest {
                     .contains(FAVORITE_USER_ID);
 
             // Verify interactions
-            verify(userService).getUserEntity(USER_ID);
-            verify(favoriteRepository).findByUser(any(User.class), any(Pageable.class));
+            verify(userService).verifyUserExists(USER_ID);
+            verify(favoriteRepository).findFavoriteUserIdsByUserId(eq(USER_ID), any(Pageable.class));
             verifyNoMoreInteractions(userService, favoriteRepository);
         }
 
@@ -107,8 +118,8 @@ class FavoriteServiceImplTest {
         @DisplayName("Should throw UserNotFoundException when user does not exist")
         void getFavoriteUsers_userNotFound() {
             // Arrange
-            when(userService.getUserEntity(USER_ID)).thenThrow(
-                    new UserNotFoundException("User not found."));
+            doThrow(new UserNotFoundException("User not found."))
+                    .when(userService).verifyUserExists(USER_ID);
 
             // Act & Assert
             assertThatThrownBy(() -> favoriteService.getFavoriteUsers(USER_ID, 0, 10))
@@ -116,7 +127,7 @@ class FavoriteServiceImplTest {
                     .hasMessage("User not found.");
 
             // Verify interactions
-            verify(userService).getUserEntity(USER_ID);
+            verify(userService).verifyUserExists(USER_ID);
             verifyNoMoreInteractions(userService);
             verifyNoInteractions(favoriteRepository);
         }
@@ -125,8 +136,7 @@ class FavoriteServiceImplTest {
         @DisplayName("Should return empty list when user has no favorite users")
         void getFavoriteUsers_noFavoriteUsers() {
             // Arrange
-            when(userService.getUserEntity(USER_ID)).thenReturn(user);
-            when(favoriteRepository.findByUser(any(User.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+            when(favoriteRepository.findFavoriteUserIdsByUserId(eq(USER_ID), any(Pageable.class))).thenReturn(List.of());
 
             // Act
             List<Long> result = favoriteService.getFavoriteUsers(USER_ID, 0, 10);
@@ -135,12 +145,52 @@ class FavoriteServiceImplTest {
             assertThat(result).isEmpty();
 
             // Verify interactions
-            verify(userService).getUserEntity(USER_ID);
-            verify(favoriteRepository).findByUser(any(User.class), any(Pageable.class));
+            verify(userService).verifyUserExists(USER_ID);
+            verify(favoriteRepository).findFavoriteUserIdsByUserId(eq(USER_ID), any(Pageable.class));
             verifyNoMoreInteractions(userService, favoriteRepository);
         }
     }
 
+    @Nested
+    @DisplayName("getFavoriteUserDetails Tests")
+    class GetFavoriteUserDetailsTests {
+        @Test
+        @DisplayName("Should get favorite users with a single join query")
+        void getFavoriteUserDetails_success() {
+            // Arrange
+            UserResponse favoriteUserResponse = UserResponse.builder().id(FAVORITE_USER_ID).build();
+            when(favoriteRepository.findFavoriteUsersByUserId(USER_ID, PageRequest.of(1, 5))).thenReturn(List.of(favoriteUser));
+            when(userMapper.toUserResponse(favoriteUser)).thenReturn(favoriteUserResponse);
+
+            // Act
+            List<UserResponse> result = favoriteService.getFavoriteUserDetails(USER_ID, 1, 5);
+
+            // Assert
+            assertThat(result).containsExactly(favoriteUserResponse);
+
+            // Verify interactions
+            verify(userService).verifyUserExists(USER_ID);
+            verify(favoriteRepository).findFavoriteUsersByUserId(USER_ID, PageRequest.of(1, 5));
+            verifyNoMoreInteractions(userService, favoriteRepository);
+        }
+
+        @Test
+        @DisplayName("Should throw UserNotFoundException when user does not exist")
+        void getFavoriteUserDetails_userNotFound() {
+            // Arrange
+            doThrow(new UserNotFoundException("User not found."))
+                    .when(userService).verifyUserExists(USER_ID);
+
+            // Act & Assert
+            assertThatThrownBy(() -> favoriteService.getFavoriteUserDetails(USER_ID, 0, 10))
+                    .isInstanceOf(UserNotFoundException.class)
+                    .hasMessage("User not found.");
+
+            // Verify interactions
+            verifyNoInteractions(favoriteRepository, userMapper);
+        }
+    }
+
     @Nested
     @DisplayName("addFavorite Tests")
     class AddFavoriteTests {
@@ -0,0 +1,109 @@
+package com.internship.user_service.service.impl;
+
+import com.internship.user_service.dto.TimeSlotDTO;
+import com.internship.user_service.dto.WorkerFreeSlotsResponse;
+import com.internship.user_service.repository.projection.WorkerBusySlotView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FreeSlotCalculatorTest {
+
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime FIVE_PM = LocalTime.of(17, 0);
+
+    private record Row(Long workerId, LocalTime workStart, LocalTime workEnd,
+                       LocalDateTime busyStart, LocalDateTime busyEnd) implements WorkerBusySlotView {
+        @Override
+        public Long getWorkerId() {
+            return workerId;
+        }
+
+        @Override
+        public LocalTime getWorkStart() {
+            return workStart;
+        }
+
+        @Override
+        public LocalTime getWorkEnd() {
+            return workEnd;
+        }
+
+        @Override
+        public LocalDateTime getBusyStart() {
+            return busyStart;
+        }
+
+        @Override
+        public LocalDateTime getBusyEnd() {
+            return busyEnd;
+        }
+    }
+
+    private static LocalDateTime at(int day, int hour) {
+        return LocalDateTime.of(2030, 1, day, hour, 0);
+    }
+
+    private static TimeSlotDTO slot(LocalDateTime start, LocalDateTime end) {
+        return new TimeSlotDTO(start, end);
+    }
+
+    @Test
+    @DisplayName("Should return the working hours of each day when the worker has no busy slots")
+    void calculate_noBusySlots() {
+        List<WorkerFreeSlotsResponse> result = FreeSlotCalculator.calculate(
+                List.of(new Row(1L, NINE, FIVE_PM, null, null)), at(1, 0), at(3, 0));
+
+        assertThat(result).containsExactly(new WorkerFreeSlotsResponse(1L, List.of(
+                slot(at(1, 9), at(1, 17)),
+                slot(at(2, 9), at(2, 17)))));
+    }
+
+    @Test
+    @DisplayName("Should leave out busy slots, including overlapping ones and ones spanning days")
+    void calculate_withBusySlots() {
+        List<WorkerFreeSlotsResponse> result = FreeSlotCalculator.calculate(List.of(
+                new Row(1L, NINE, FIVE_PM, at(1, 10), at(1, 12)),
+                new Row(1L, NINE, FIVE_PM, at(1, 11), at(1, 13)),
+                new Row(1L, NINE, FIVE_PM, at(1, 16), at(2, 10))), at(1, 0), at(3, 0));
+
+        assertThat(result).containsExactly(new WorkerFreeSlotsResponse(1L, List.of(
+                slot(at(1, 9), at(1, 10)),
+                slot(at(1, 13), at(1, 16)),
+                slot(at(2, 10), at(2, 17)))));
+    }
+
+    @Test
+    @DisplayName("Should clip free slots to the requested window and group them per worker")
+    void calculate_clipsToWindowPerWorker() {
+        List<WorkerFreeSlotsResponse> result = FreeSlotCalculator.calculate(List.of(
+                new Row(1L, NINE, FIVE_PM, null, null),
+                new Row(2L, null, null, at(1, 12), at(1, 13))), at(1, 11), at(1, 15));
+
+        assertThat(result).containsExactly(
+                new WorkerFreeSlotsResponse(1L, List.of(slot(at(1, 11), at(1, 15)))),
+                new WorkerFreeSlotsResponse(2L, List.of(slot(at(1, 11), at(1, 12)), slot(at(1, 13), at(1, 15)))));
+    }
+
+    @Test
+    @DisplayName("Should treat working hours ending before they start as an overnight shift")
+    void calculate_overnightShift() {
+        List<WorkerFreeSlotsResponse> result = FreeSlotCalculator.calculate(
+                List.of(new Row(1L, LocalTime.of(22, 0), LocalTime.of(6, 0), null, null)), at(2, 0), at(2, 23));
+
+        assertThat(result).containsExactly(new WorkerFreeSlotsResponse(1L, List.of(
+                slot(at(2, 0), at(2, 6)),
+                slot(at(2, 22), at(2, 23)))));
+    }
+
+    @Test
+    @DisplayName("Should return an empty result when no worker was found")
+    void calculate_noWorkers() {
+        assertThat(FreeSlotCalculator.calculate(List.of(), at(1, 0), at(2, 0))).isEmpty();
+    }
+}
@@ -0,0 +1,154 @@
+package com.internship.user_service.service.impl;
+
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+import com.internship.user_service.cache.ProfilePictureCache;
+import com.internship.user_service.enums.PictureSize;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mockito;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+class ThumbnailServiceImplTest {
+
+    private static final String BUCKET = "testBucketName";
+
+    private Storage storage;
+    private ProfilePictureCache profilePictureCache;
+    private ThumbnailServiceImpl thumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        storage = LocalStorageHelper.getOptions().getService();
+        profilePictureCache = Mockito.mock(ProfilePictureCache.class);
+        thumbnailService = new ThumbnailServiceImpl(storage, profilePictureCache, BUCKET, 1, 1, 10_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        thumbnailService.shutdown();
+    }
+
+    private Blob upload(String name, int width, int height, String format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, output);
+        return storage.create(BlobInfo.newBuilder(BlobId.of(BUCKET, name)).build(), output.toByteArray());
+    }
+
+    private BufferedImage read(String name) throws IOException {
+        byte[] content = storage.readAllBytes(BlobId.of(BUCKET, name));
+        return ImageIO.read(new ByteArrayInputStream(content));
+    }
+
+    @Test
+    void createThumbnails_shouldWriteSquareThumbnailsForEverySize() throws IOException {
+        Blob original = upload("pictureUserId_1.png", 600, 400, "png");
+
+        thumbnailService.createThumbnails("pictureUserId_1.png", original.getGeneration());
+
+        BufferedImage small = read("pictureUserId_1_64.png");
+        BufferedImage medium = read("pictureUserId_1_256.png");
+        assertEquals(64, small.getWidth());
+        assertEquals(64, small.getHeight());
+        assertEquals(256, medium.getWidth());
+        assertEquals(256, medium.getHeight());
+        verify(profilePictureCache).invalidate("pictureUserId_1_64.png");
+        verify(profilePictureCache).invalidate("pictureUserId_1_256.png");
+    }
+
+    @Test
+    void createThumbnails_shouldNotScaleUpSmallPictures() throws IOException {
+        Blob original = upload("pictureUserId_2.jpg", 100, 120, "jpg");
+
+        thumbnailService.createThumbnails("pictureUserId_2.jpg", original.getGeneration());
+
+        assertEquals(64, read("pictureUserId_2_64.jpg").getWidth());
+        assertEquals(100, read("pictureUserId_2_256.jpg").getWidth());
+    }
+
+    @Test
+    void createThumbnails_shouldSkipUnreadableImages() {
+        Blob original = storage.create(BlobInfo.newBuilder(BlobId.of(BUCKET, "pictureUserId_3.png")).build(),
+                "not an image".getBytes());
+
+        thumbnailService.createThumbnails("pictureUserId_3.png", original.getGeneration());
+
+        assertNull(storage.get(BlobId.of(BUCKET, "pictureUserId_3_64.png")));
+    }
+
+    @Test
+    void createThumbnails_shouldNotDecodePicturesDeclaringTooManyPixels() throws IOException {
+        Blob original = storage.create(BlobInfo.newBuilder(BlobId.of(BUCKET, "pictureUserId_4.png")).build(),
+                pngDeclaring(30000, 30000));
+
+        thumbnailService.createThumbnails("pictureUserId_4.png", original.getGeneration());
+
+        assertNull(storage.get(BlobId.of(BUCKET, "pictureUserId_4_64.png")));
+        assertNull(thumbnailService.decode("pictureUserId_4.png", pngDeclaring(30000, 30000)));
+    }
+
+    @Test
+    void createThumbnails_shouldSubsampleLargePictures() throws IOException {
+        Blob original = upload("pictureUserId_5.png", 3000, 2000, "png");
+
+        BufferedImage decoded = thumbnailService.decode("pictureUserId_5.png",
+                storage.readAllBytes(BlobId.of(BUCKET, "pictureUserId_5.png")));
+        thumbnailService.createThumbnails("pictureUserId_5.png", original.getGeneration());
+
+        assertEquals(429, decoded.getWidth());
+        assertEquals(286, decoded.getHeight());
+        assertEquals(256, read("pictureUserId_5_256.png").getWidth());
+    }
+
+    /**
+     * Returns a tiny PNG whose header declares the given dimensions, like a decompression bomb.
+     */
+    private static byte[] pngDeclaring(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", output);
+        byte[] png = output.toByteArray();
+
+        // The IHDR chunk follows the 8 byte signature: length, type, width, height, ..., CRC
+        ByteBuffer header = ByteBuffer.wrap(png);
+        header.putInt(16, width);
+        header.putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        header.putInt(29, (int) crc.getValue());
+        return png;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "pictureUserId_1.jpg,  SMALL,    pictureUserId_1_64.jpg",
+            "pictureUserId_1.jpeg, MEDIUM,   pictureUserId_1_256.jpeg",
+            "pictureUserId_1.gif,  SMALL,    pictureUserId_1_64.png",
+            "pictureUserId_1.png,  ORIGINAL, pictureUserId_1.png"
+    })
+    void pictureSize_shouldBuildObjectNames(String originalName, PictureSize size, String expectedName) {
+        assertEquals(expectedName, size.objectName(originalName));
+    }
+
+    @Test
+    void pictureSize_shouldRejectUnsupportedSizes() {
+        assertEquals(PictureSize.ORIGINAL, PictureSize.fromPixels(null));
+        assertEquals(PictureSize.SMALL, PictureSize.fromPixels(64));
+        assertThrows(IllegalArgumentException.class, () -> PictureSize.fromPixels(128));
+    }
+}
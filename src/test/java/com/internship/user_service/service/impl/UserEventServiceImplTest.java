@@ -0,0 +1,175 @@
+package com.internship.user_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.enums.UserEventType;
+import com.internship.user_service.model.UserEvent;
+import com.internship.user_service.rabbitmq.UserEventMessage;
+import com.internship.user_service.repository.UserEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventServiceImplTest {
+
+    private static final String EXCHANGE = "user-events";
+
+    @Mock
+    private UserEventRepository userEventRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private UserEventServiceImpl userEventService(AmqpTemplate amqpTemplate, boolean publisherConfirms) {
+        return new UserEventServiceImpl(userEventRepository, jdbcTemplate, amqpTemplate, objectMapper,
+                EXCHANGE, 200, publisherConfirms, Duration.ofSeconds(1));
+    }
+
+    private static UserEvent event(long id, UserEventType type) {
+        return UserEvent.builder()
+                .id(id)
+                .userId(1L)
+                .type(type)
+                .payload(type == UserEventType.USER_DELETED ? null : "{\"id\":1}")
+                .created(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .build();
+    }
+
+    private void confirmAll(boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(eq(EXCHANGE), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void record_shouldStorePayloadAsJson() {
+        UserResponse response = UserResponse.builder()
+                .id(1L)
+                .city("Skopje")
+                .startTime(LocalTime.of(8, 0))
+                .build();
+
+        userEventService(rabbitTemplate, true).record(UserEventType.USER_UPDATED, 1L, response);
+
+        ArgumentCaptor<UserEvent> captor = ArgumentCaptor.forClass(UserEvent.class);
+        verify(userEventRepository).save(captor.capture());
+        assertEquals(UserEventType.USER_UPDATED, captor.getValue().getType());
+        assertEquals(1L, captor.getValue().getUserId());
+        assertTrue(captor.getValue().getPayload().contains("\"city\":\"Skopje\""));
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void record_shouldStoreNoPayloadForDeletions() {
+        userEventService(rabbitTemplate, true).record(UserEventType.USER_DELETED, 1L, null);
+
+        ArgumentCaptor<UserEvent> captor = ArgumentCaptor.forClass(UserEvent.class);
+        verify(userEventRepository).save(captor.capture());
+        assertNull(captor.getValue().getPayload());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordAll_shouldInsertEventsInOneBatch() {
+        Map<Long, UserResponse> payloads = new LinkedHashMap<>();
+        payloads.put(1L, UserResponse.builder().id(1L).build());
+        payloads.put(2L, UserResponse.builder().id(2L).build());
+
+        userEventService(rabbitTemplate, true).recordAll(UserEventType.USER_CREATED, payloads);
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO user_events"), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(2L, captor.getValue().get(1)[0]);
+        assertEquals("USER_CREATED", captor.getValue().get(1)[1]);
+        assertTrue(((String) captor.getValue().get(1)[2]).contains("\"id\":2"));
+        verifyNoInteractions(userEventRepository);
+    }
+
+    @Test
+    void relayEvents_shouldPublishBatchAndRemoveConfirmedEvents() {
+        List<UserEvent> events = List.of(event(1, UserEventType.USER_CREATED), event(2, UserEventType.USER_DELETED));
+        when(userEventRepository.findOldestForUpdate(Limit.of(200))).thenReturn(events);
+        confirmAll(true);
+
+        userEventService(rabbitTemplate, true).relayEvents();
+
+        ArgumentCaptor<UserEventMessage> captor = ArgumentCaptor.forClass(UserEventMessage.class);
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq("user.created"), captor.capture(), any(CorrelationData.class));
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq("user.deleted"), any(Object.class), any(CorrelationData.class));
+        assertEquals(1L, captor.getValue().getEventId());
+        assertEquals("{\"id\":1}", captor.getValue().getPayload());
+        verify(userEventRepository).deleteAllInBatch(events);
+    }
+
+    @Test
+    void relayEvents_shouldKeepEvents_whenBrokerRejectsThem() {
+        List<UserEvent> events = List.of(event(1, UserEventType.PICTURE_CHANGED));
+        when(userEventRepository.findOldestForUpdate(Limit.of(200))).thenReturn(events);
+        confirmAll(false);
+
+        UserEventServiceImpl userEventService = userEventService(rabbitTemplate, true);
+        AmqpException exception = assertThrows(AmqpException.class, userEventService::relayEvents);
+
+        assertEquals("User event 1 was rejected: nack", exception.getMessage());
+        verify(userEventRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void relayEvents_shouldKeepEvents_whenConfirmTimesOut() {
+        when(userEventRepository.findOldestForUpdate(Limit.of(200))).thenReturn(List.of(event(1, UserEventType.USER_UPDATED)));
+
+        UserEventServiceImpl userEventService = userEventService(rabbitTemplate, true);
+        assertThrows(AmqpException.class, userEventService::relayEvents);
+
+        verify(userEventRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void relayEvents_shouldSendWithoutConfirms_whenConfirmsAreDisabled() {
+        AmqpTemplate amqpTemplate = mock(AmqpTemplate.class);
+        List<UserEvent> events = List.of(event(1, UserEventType.WORKING_HOURS_CHANGED));
+        when(userEventRepository.findOldestForUpdate(Limit.of(200))).thenReturn(events);
+
+        userEventService(amqpTemplate, false).relayEvents();
+
+        verify(amqpTemplate).convertAndSend(eq(EXCHANGE), eq("user.working-hours-changed"), any(UserEventMessage.class));
+        verify(userEventRepository).deleteAllInBatch(events);
+    }
+
+    @Test
+    void relayEvents_shouldDoNothing_whenOutboxIsEmpty() {
+        when(userEventRepository.findOldestForUpdate(Limit.of(200))).thenReturn(List.of());
+
+        userEventService(rabbitTemplate, true).relayEvents();
+
+        verifyNoInteractions(rabbitTemplate);
+        verify(userEventRepository, never()).deleteAllInBatch(any());
+    }
+}
@@ -0,0 +1,140 @@
+package com.internship.user_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.dto.ExportStatusResponse;
+import com.internship.user_service.enums.ExportState;
+import com.internship.user_service.enums.ExportTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private UserExportServiceImpl userExportService;
+
+    @BeforeEach
+    void setUp() {
+        userExportService = new UserExportServiceImpl(jdbcTemplate, transactionManager, objectMapper, directory, 100, 2);
+    }
+
+    private static Map<String, Object> user(long id) {
+        return Map.of("id", id, "name", "User " + id);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void returnRows(Stream... streams) {
+        OngoingStubbing stubbing = when(jdbcTemplate.queryForStream(any(PreparedStatementCreator.class), any(RowMapper.class)));
+        for (Stream stream : streams) {
+            stubbing = stubbing.thenReturn(stream);
+        }
+    }
+
+    private List<String> readLines(ExportTable table) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(directory.resolve(table.fileName()))), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    @Test
+    void runExport_shouldWriteEveryTableInChunks() throws IOException {
+        returnRows(Stream.of(user(1), user(2), user(3)), Stream.empty(), Stream.empty(), Stream.empty(), Stream.empty());
+
+        userExportService.runExport(false);
+
+        List<String> lines = readLines(ExportTable.USERS);
+        assertEquals(3, lines.size());
+        assertEquals(3L, objectMapper.readTree(lines.get(2)).get("id").asLong());
+        assertTrue(readLines(ExportTable.BLOCKS).isEmpty());
+
+        ExportStatusResponse status = userExportService.getStatus();
+        assertEquals(ExportState.COMPLETED, status.getState());
+        assertEquals(3, status.getTables().get(0).getRows());
+        assertTrue(status.getTables().stream().allMatch(ExportStatusResponse.TableProgress::isCompleted));
+        assertTrue(Files.exists(directory.resolve(UserExportServiceImpl.CHECKPOINT_FILE)));
+    }
+
+    @Test
+    void runExport_shouldResumeAfterLastCheckpoint() throws Exception {
+        Stream<Map<String, Object>> failing = Stream.concat(Stream.of(user(1), user(2)),
+                Stream.generate(() -> {
+                    throw new DataAccessResourceFailureException("connection lost");
+                }));
+        returnRows(failing, Stream.of(user(3)), Stream.empty(), Stream.empty(), Stream.empty(), Stream.empty());
+
+        userExportService.runExport(false);
+        assertEquals(ExportState.FAILED, userExportService.getStatus().getState());
+        assertEquals("connection lost", userExportService.getStatus().getError());
+
+        userExportService.runExport(true);
+
+        assertEquals(ExportState.COMPLETED, userExportService.getStatus().getState());
+        assertEquals(List.of(1L, 2L, 3L), readLines(ExportTable.USERS).stream()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line).get("id").asLong();
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList());
+
+        ArgumentCaptor<PreparedStatementCreator> captor = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate, times(6)).queryForStream(captor.capture(), any(RowMapper.class));
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+
+        captor.getAllValues().get(1).createPreparedStatement(connection);
+
+        verify(connection).prepareStatement(eq("SELECT * FROM users WHERE (id) > (?) ORDER BY id"), anyInt(), anyInt());
+        verify(statement).setFetchSize(100);
+        verify(statement).setLong(1, 2L);
+    }
+
+    @Test
+    void selectSql_shouldPageByCompositeKey() {
+        assertEquals("SELECT * FROM favorites WHERE (user_id, favorite_user_id) > (?, ?) ORDER BY user_id, favorite_user_id",
+                ExportTable.FAVORITES.selectSql(true));
+        assertEquals("SELECT * FROM blocks ORDER BY blocking_user_id, blocked_user_id",
+                ExportTable.BLOCKS.selectSql(false));
+    }
+}
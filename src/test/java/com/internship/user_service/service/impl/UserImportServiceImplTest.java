@@ -0,0 +1,229 @@
+package com.internship.user_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.user_service.constants.CacheNames;
+import com.internship.user_service.dto.UserDTO;
+import com.internship.user_service.dto.UserImportResponse;
+import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.enums.ImportFormat;
+import com.internship.user_service.enums.ImportMode;
+import com.internship.user_service.enums.UserEventType;
+import com.internship.user_service.mapper.UserMapper;
+import com.internship.user_service.model.User;
+import com.internship.user_service.repository.UserRepository;
+import com.internship.user_service.service.UserEventService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+
+    private static final String CSV_HEADER = "id,name,surname,email,birthday,phone,address,city,zipCode,country\n";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserEventService userEventService;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportServiceImpl(jdbcTemplate, transactionTemplate, validator, objectMapper,
+                userRepository, userMapper, userEventService, cacheManager, 2, 10);
+    }
+
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private void mapUsers() {
+        when(userRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(id -> users.add(User.builder().id(id).build()));
+            return users;
+        });
+        when(userMapper.toUserResponse(any())).thenReturn(UserResponse.builder().build());
+    }
+
+    private static String json(long id, String email) {
+        return "{\"id\":" + id + ",\"name\":\"John\",\"surname\":\"Doe\",\"email\":\"" + email + "\"," +
+                "\"birthday\":\"1990-01-01\",\"phone\":\"+38970123456\",\"address\":\"Main street\"," +
+                "\"city\":\"Skopje\",\"zipCode\":\"1000\",\"country\":\"Macedonia\"}\n";
+    }
+
+    private UserImportResponse importUsers(String body, ImportFormat format, ImportMode mode) throws IOException {
+        return userImportService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, mode);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importUsers_shouldInsertValidRecordsInBatches() throws IOException {
+        runTransactionCallbacks();
+        mapUsers();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0}, new int[]{1});
+
+        UserImportResponse response = importUsers(
+                json(1, "a@mail.com") + json(2, "b@mail.com") + "\n" + json(3, "c@mail.com"),
+                ImportFormat.NDJSON, ImportMode.SKIP);
+
+        assertEquals(3, response.getReceived());
+        assertEquals(2, response.getImported());
+        assertEquals(1, response.getSkipped());
+        assertEquals(0, response.getFailed());
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(endsWith("ON CONFLICT DO NOTHING"), captor.capture());
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals(3L, captor.getAllValues().get(1).get(0)[0]);
+
+        ArgumentCaptor<Map<Long, ?>> events = ArgumentCaptor.forClass(Map.class);
+        verify(userEventService, times(2)).recordAll(eq(UserEventType.USER_CREATED), events.capture());
+        assertEquals(List.of(1L), List.copyOf(events.getAllValues().get(0).keySet()));
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void importUsers_shouldReportInvalidRecordsWithoutAborting() throws IOException {
+        runTransactionCallbacks();
+        mapUsers();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        UserImportResponse response = importUsers(
+                "{not json}\n" + json(1, "not-an-email") + json(2, "b@mail.com"),
+                ImportFormat.NDJSON, ImportMode.SKIP);
+
+        assertEquals(3, response.getReceived());
+        assertEquals(1, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(1, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("Invalid record"));
+        assertEquals(2, response.getErrors().get(1).getLine());
+        assertTrue(response.getErrors().get(1).getMessage().startsWith("email:"));
+    }
+
+    @Test
+    void importUsers_shouldRetryRowByRow_whenBatchIsRejected() throws IOException {
+        runTransactionCallbacks();
+        mapUsers();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("duplicate email"));
+
+        UserImportResponse response = importUsers(json(1, "a@mail.com") + json(2, "a@mail.com"),
+                ImportFormat.NDJSON, ImportMode.SKIP);
+
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(2, response.getErrors().get(0).getLine());
+        assertEquals("duplicate email", response.getErrors().get(0).getMessage());
+        verify(userEventService).recordAll(eq(UserEventType.USER_CREATED), anyMap());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importUsers_shouldUpsertCsvAndEvictCachedUsers() throws IOException {
+        runTransactionCallbacks();
+        mapUsers();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        when(cacheManager.getCache(CacheNames.USERS)).thenReturn(cache);
+
+        UserImportResponse response = importUsers(CSV_HEADER +
+                        "7,John,Doe,a@mail.com,1990-01-01,+38970123456,\"Main street, 5\",Skopje,1000,Macedonia\n" +
+                        "8,John,Doe\n",
+                ImportFormat.CSV, ImportMode.UPSERT);
+
+        assertEquals(2, response.getReceived());
+        assertEquals(1, response.getImported());
+        assertEquals(1, response.getFailed());
+        assertEquals(3, response.getErrors().get(0).getLine());
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("ON CONFLICT (id) DO UPDATE"), captor.capture());
+        assertEquals("Main street, 5", captor.getValue().get(0)[6]);
+        verify(userEventService).recordAll(eq(UserEventType.USER_UPDATED), anyMap());
+        verify(cache).evict(7L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importUsers_shouldBuildUpsertEventsFromStoredUsers() throws IOException {
+        runTransactionCallbacks();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+        User stored = User.builder()
+                .id(7L)
+                .email("a@mail.com")
+                .profilePicturePath("pictureUserId_7.png")
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(16, 0))
+                .build();
+        when(userRepository.findAllById(List.of(7L))).thenReturn(List.of(stored));
+        UserResponse storedResponse = UserResponse.builder().id(7L).profilePicturePath("pictureUserId_7.png").build();
+        when(userMapper.toUserResponse(stored)).thenReturn(storedResponse);
+
+        importUsers(json(7, "a@mail.com"), ImportFormat.NDJSON, ImportMode.UPSERT);
+
+        ArgumentCaptor<Map<Long, UserResponse>> events = ArgumentCaptor.forClass(Map.class);
+        verify(userEventService).recordAll(eq(UserEventType.USER_UPDATED), events.capture());
+        assertEquals(Map.of(7L, storedResponse), events.getValue());
+        verify(userMapper, never()).toUserEntity(any(UserDTO.class));
+    }
+
+    @Test
+    void importUsers_shouldRejectUnknownCsvColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importUsers("id,nickname\n1,johnny\n", ImportFormat.CSV, ImportMode.SKIP));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void parseCsvRecord_shouldHandleQuotedFields() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), CsvRecordParser.parse("a,\"b, c\",\"say \"\"hi\"\"\","));
+        assertThrows(IllegalArgumentException.class, () -> CsvRecordParser.parse("a,\"b"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.internship.user_service.service.impl;
+
+import com.google.cloud.storage.Storage;
+import com.internship.user_service.cache.ProfilePictureCache;
+import com.internship.user_service.config.CacheConfig;
+import com.internship.user_service.constants.CacheNames;
+import com.internship.user_service.dto.UserDTO;
+import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.mapper.AvailabilityMapper;
+import com.internship.user_service.mapper.UserMapper;
+import com.internship.user_service.model.User;
+import com.internship.user_service.repository.AvailabilityRepository;
+import com.internship.user_service.repository.UserRepository;
+import com.internship.user_service.service.BlobCleanupService;
+import com.internship.user_service.service.ThumbnailService;
+import com.internship.user_service.service.UserEventService;
+import com.internship.user_service.service.UserService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the cache advice of {@link UserServiceImpl} against a real proxy, together with the
+ * transactional advice it has to run outside of.
+ */
+@SpringBootTest(classes = {UserServiceImpl.class, CacheConfig.class, UserServiceImplCachingTest.TestConfig.class},
+        properties = "gcs.bucket.name=testBucketName")
+class UserServiceImplCachingTest {
+
+    @TestConfiguration
+    @EnableTransactionManagement
+    static class TestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheNames.USERS);
+        }
+    }
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private Storage storage;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private UserMapper userMapper;
+
+    @MockitoBean
+    private AvailabilityRepository availabilityRepository;
+
+    @MockitoBean
+    private AvailabilityMapper availabilityMapper;
+
+    @MockitoBean
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private ProfilePictureCache profilePictureCache;
+
+    @MockitoBean
+    private ThumbnailService thumbnailService;
+
+    @MockitoBean
+    private BlobCleanupService blobCleanupService;
+
+    @MockitoBean
+    private UserEventService userEventService;
+
+    @MockitoBean
+    private TransactionTemplate transactionTemplate;
+
+    private final User user = User.builder().id(1L).name("Marko").build();
+    private final UserResponse userResponse = UserResponse.builder().id(1L).name("Marko").build();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheNames.USERS).clear();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userMapper.toUserResponse(user)).thenReturn(userResponse);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void getUser_shouldReadRepositoryOnce_whenCalledTwice() {
+        UserResponse first = userService.getUser(1L);
+        UserResponse second = userService.getUser(1L);
+
+        assertSame(userResponse, first);
+        assertSame(userResponse, second);
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void editUser_shouldEvictCachedUser_afterCommit() {
+        Cache cache = cacheManager.getCache(CacheNames.USERS);
+        AtomicBoolean cachedAtCommit = new AtomicBoolean();
+        doAnswer(invocation -> {
+            cachedAtCommit.set(cache.get(1L) != null);
+            return null;
+        }).when(transactionManager).commit(any());
+        userService.getUser(1L);
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(1L);
+        userDTO.setName("Marko");
+
+        userService.editUser(userDTO);
+
+        assertTrue(cachedAtCommit.get());
+        assertNull(cache.get(1L));
+        userService.getUser(1L);
+        verify(userRepository, times(3)).findById(1L);
+    }
+}
@@ -1,12 +1,21 @@
 package com.internship.user_service.service.impl;
 
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.*;
+import com.internship.user_service.cache.ProfilePictureCache;
 import com.internship.user_service.constants.FilePath;
 import com.internship.user_service.dto.AvailabilityDTO;
+import com.internship.user_service.dto.FreeSlotRequest;
+import com.internship.user_service.dto.FreeSlotsResponse;
 import com.internship.user_service.dto.ImageDTO;
+import com.internship.user_service.dto.UserBatchResponse;
 import com.internship.user_service.dto.UserDTO;
+import com.internship.user_service.dto.UserPageResponse;
 import com.internship.user_service.dto.UserResponse;
+import com.internship.user_service.dto.WorkerFreeSlotsResponse;
 import com.internship.user_service.dto.WorkingHoursRequest;
+import com.internship.user_service.enums.PictureSize;
+import com.internship.user_service.enums.UserEventType;
 import com.internship.user_service.exception.*;
 import com.internship.user_service.mapper.AvailabilityMapper;
 import com.internship.user_service.exception.PictureNotFoundException;
@@ -17,30 +26,51 @@ import com.internship.user_service.model.Availability;
 import com.internship.user_service.model.User;
 import com.internship.user_service.repository.AvailabilityRepository;
 import com.internship.user_service.repository.UserRepository;
+import com.internship.user_service.repository.projection.UserPictureView;
+import com.internship.user_service.repository.projection.WorkerBusySlotView;
+import com.internship.user_service.service.BlobCleanupService;
+import com.internship.user_service.service.ThumbnailService;
+import com.internship.user_service.service.UserEventService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
@@ -64,6 +94,24 @@ class UserServiceImplTest {
     @Mock
     private Storage storage;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ProfilePictureCache profilePictureCache;
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @Mock
+    private BlobCleanupService blobCleanupService;
+
+    @Mock
+    private UserEventService userEventService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -105,6 +153,9 @@ class UserServiceImplTest {
         availabilityDTO.setEndTime(LocalDateTime.of(2025, 3, 25, 12, 0));
 
         ReflectionTestUtils.setField(userService, "bucketName", "testBucketName");
+        ReflectionTestUtils.setField(userService, "maxPictureSize", DataSize.ofMegabytes(5));
+        ReflectionTestUtils.setField(userService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(userService, "maxPageSize", 10);
 
         workingHoursRequest = WorkingHoursRequest
                 .builder()
@@ -117,6 +168,11 @@ class UserServiceImplTest {
         SecurityContextHolder.setContext(securityContext);
     }
 
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     void createUser() {
         when(userMapper.toUserEntity(userDTO)).thenReturn(user);
@@ -137,6 +193,7 @@ class UserServiceImplTest {
         verify(userMapper, times(1)).toUserEntity(userDTO);
         verify(userRepository, times(1)).save(user);
         verify(userMapper, times(1)).toUserResponse(user);
+        verify(userEventService).record(UserEventType.USER_CREATED, 1L, userResponse);
     }
 
     @Test
@@ -184,6 +241,22 @@ class UserServiceImplTest {
         verify(userMapper, never()).toUserResponse(any());
     }
 
+    @Test
+    void getUsers_shouldKeepRequestOrderAndReportMissingIds() {
+        User second = User.builder().id(2L).build();
+        UserResponse secondResponse = UserResponse.builder().id(2L).build();
+        when(userRepository.findAllById(new LinkedHashSet<>(List.of(2L, 99L, 1L))))
+                .thenReturn(List.of(user, second));
+        when(userMapper.toUserResponse(user)).thenReturn(userResponse);
+        when(userMapper.toUserResponse(second)).thenReturn(secondResponse);
+
+        UserBatchResponse result = userService.getUsers(List.of(2L, 99L, 1L, 2L));
+
+        assertEquals(List.of(secondResponse, userResponse), result.getUsers());
+        assertEquals(List.of(99L), result.getMissingIds());
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
     @Test
     void getAllUsers() {
         when(userRepository.findAll()).thenReturn(List.of(user));
@@ -213,6 +286,55 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findAll();
     }
 
+    @Test
+    void getUsersPage_shouldReturnNextCursor_whenMoreUsersExist() {
+        User second = User.builder().id(2L).build();
+        User third = User.builder().id(3L).build();
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(user, second, third));
+        when(userMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
+
+        UserPageResponse page = userService.getUsersPage(0L, null);
+
+        assertEquals(2, page.getUsers().size());
+        assertEquals(2L, page.getNextCursor());
+        verify(userMapper, never()).toUserResponse(third);
+    }
+
+    @Test
+    void getUsersPage_shouldReturnNullCursor_onLastPage() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(6)))
+                .thenReturn(List.of(user));
+        when(userMapper.toUserResponse(user)).thenReturn(userResponse);
+
+        UserPageResponse page = userService.getUsersPage(null, 5);
+
+        assertEquals(1, page.getUsers().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0", "11"})
+    void getUsersPage_shouldThrowException_whenPageSizeIsOutOfRange(int size) {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> userService.getUsersPage(null, size));
+
+        assertEquals("Page size must be between 1 and 10.", ex.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void streamAllUsers_shouldPassEveryUserToConsumerAndDetachIt() {
+        when(userRepository.streamAllOrderedById()).thenReturn(Stream.of(user));
+        when(userMapper.toUserResponse(user)).thenReturn(userResponse);
+        List<UserResponse> consumed = new ArrayList<>();
+
+        userService.streamAllUsers(consumed::add);
+
+        assertEquals(List.of(userResponse), consumed);
+        verify(entityManager, times(1)).detach(user);
+    }
+
     @Test
     void addProfilePictureWhenUserNotFound() {
         MockMultipartFile file = new MockMultipartFile("file", "profile.jpg",
@@ -278,9 +400,22 @@ class UserServiceImplTest {
         when(userMapper.toUserResponse(user)).thenReturn(userResponse);
         when(mockFile.getOriginalFilename()).thenReturn("valid-image.jpg");
         when(mockFile.getContentType()).thenReturn(MediaType.IMAGE_JPEG_VALUE);
-        when(mockFile.getBytes()).thenReturn(fakeImgData);
-        when(storage.create(any(BlobInfo.class), any(byte[].class), any(Storage.BlobTargetOption.class)))
-                .thenReturn(mock(Blob.class));
+        when(mockFile.getSize()).thenReturn((long) fakeImgData.length);
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(fakeImgData));
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        WriteChannel writer = mock(WriteChannel.class);
+        when(writer.write(any(ByteBuffer.class))).thenAnswer(invocation -> {
+            ByteBuffer buffer = invocation.getArgument(0);
+            int remaining = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                written.write(buffer.get());
+            }
+            return remaining;
+        });
+        when(storage.writer(any(BlobInfo.class), any(Storage.BlobWriteOption.class))).thenReturn(writer);
+        when(storage.get(BlobId.of("testBucketName", "pictureUserId_1.jpg"))).thenReturn(mock(Blob.class));
+
+        runTransactionCallbacks();
 
         UserResponse result = userService.addProfilePicture(1L, mockFile);
 
@@ -300,38 +435,111 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).save(user);
         verify(userMapper, times(1)).toUserResponse(user);
         verify(mockFile, times(1)).getOriginalFilename();
+        verify(profilePictureCache).invalidate("pictureUserId_1.jpg");
+        verify(thumbnailService).generateThumbnails(eq("pictureUserId_1.jpg"), any());
+        verify(writer).close();
+        verify(blobCleanupService).cancelDeletion("pictureUserId_1.jpg");
+        verify(blobCleanupService, never()).scheduleDeletion(any());
+        verify(blobCleanupService, never()).scheduleDeletion(any(), any());
+        verify(userEventService).record(UserEventType.PICTURE_CHANGED, 1L, userResponse);
+        verify(storage, never()).create(any(BlobInfo.class), any(byte[].class), any(Storage.BlobTargetOption.class));
+        verify(mockFile, never()).getBytes();
+        assertArrayEquals(fakeImgData, written.toByteArray());
     }
 
     @Test
-    void deleteProfilePicture_shouldDeletePicture_whenItExists() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+    void addProfilePicture_shouldNotFinalizeUpload_whenReadingFileFails() throws IOException {
+        MultipartFile mockFile = mock(MultipartFile.class);
+        InputStream input = mock(InputStream.class);
+        WriteChannel writer = mock(WriteChannel.class);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(mockFile.getOriginalFilename()).thenReturn("valid-image.jpg");
+        when(mockFile.getInputStream()).thenReturn(input);
+        when(input.transferTo(any())).thenThrow(new IOException("Connection reset"));
+        when(storage.writer(any(BlobInfo.class), any(Storage.BlobWriteOption.class))).thenReturn(writer);
+
+        assertThrows(IOException.class, () -> userService.addProfilePicture(1L, mockFile));
+
+        verify(writer, never()).close();
+        verify(storage, never()).get(any(BlobId.class));
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(thumbnailService);
+    }
+
+    @Test
+    void addProfilePicture_shouldThrowServiceUnavailable_whenUploadedPictureIsMissing() throws IOException {
+        MultipartFile mockFile = mock(MultipartFile.class);
+        WriteChannel writer = mock(WriteChannel.class);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(mockFile.getOriginalFilename()).thenReturn("valid-image.jpg");
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(storage.writer(any(BlobInfo.class), any(Storage.BlobWriteOption.class))).thenReturn(writer);
+        when(storage.get(BlobId.of("testBucketName", "pictureUserId_1.jpg"))).thenReturn(null);
+
+        assertThrows(ServiceUnavailableException.class, () -> userService.addProfilePicture(1L, mockFile));
+
+        verify(writer).close();
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(thumbnailService);
+    }
+
+    @Test
+    void addProfilePictureWhenTooLarge() {
+        MultipartFile mockFile = mock(MultipartFile.class);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(mockFile.getSize()).thenReturn(DataSize.ofMegabytes(5).toBytes() + 1);
+
+        PictureTooLargeException exception = assertThrows(PictureTooLargeException.class,
+                () -> userService.addProfilePicture(1L, mockFile));
+        assertEquals("Profile picture must not be larger than 5MB.", exception.getMessage());
+
+        verify(storage, never()).writer(any(BlobInfo.class), any(Storage.BlobWriteOption.class));
+        verify(userRepository, never()).save(any());
+    }
 
-        when(storage.delete(any(BlobId.class))).thenReturn(true);
+    @Test
+    void deleteProfilePicture_shouldScheduleDeletion_whenPictureExists() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
 
         Boolean result = userService.deleteProfilePicture(user.getId());
 
         assertTrue(result);
+        assertNull(user.getProfilePicturePath());
+        verify(blobCleanupService).scheduleDeletion("pictureUserId_1.jpg");
+        verify(userEventService).record(eq(UserEventType.PICTURE_CHANGED), eq(1L), any());
+        verifyNoInteractions(storage);
     }
 
-    @Test
-    void deleteProfilePicture_shouldReturnFalse_whenPictureDoesntExist() {
-        user.setProfilePicturePath("");
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = " ")
+    void deleteProfilePicture_shouldReturnFalse_whenPictureDoesntExist(String path) {
+        user.setProfilePicturePath(path);
 
         Boolean result = userService.deleteProfilePicture(user);
 
         assertFalse(result);
-        verify(storage, never()).delete(any(BlobId.class));
+        verifyNoInteractions(blobCleanupService, storage);
     }
 
     @Test
-    void deleteProfilePicture_shouldReturnFalse_whenDeletionFails() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+    void addProfilePicture_shouldScheduleDeletionOfPreviousPicture_whenNameChanges() throws IOException {
+        MultipartFile mockFile = mock(MultipartFile.class);
+        WriteChannel writer = mock(WriteChannel.class);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        when(mockFile.getOriginalFilename()).thenReturn("valid-image.png");
+        when(mockFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[0]));
+        when(storage.writer(any(BlobInfo.class), any(Storage.BlobWriteOption.class))).thenReturn(writer);
+        when(storage.get(any(BlobId.class))).thenReturn(mock(Blob.class));
 
-        when(storage.delete(any(BlobId.class))).thenReturn(false);
+        runTransactionCallbacks();
 
-        Boolean result = userService.deleteProfilePicture(user.getId());
+        userService.addProfilePicture(1L, mockFile);
 
-        assertFalse(result);
+        assertEquals("pictureUserId_1.png", user.getProfilePicturePath());
+        verify(blobCleanupService).cancelDeletion("pictureUserId_1.png");
+        verify(blobCleanupService).scheduleDeletion("pictureUserId_1.jpg", "pictureUserId_1.png");
     }
 
     @ParameterizedTest
@@ -345,11 +553,12 @@ class UserServiceImplTest {
         Blob blob = mock(Blob.class);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(userMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
         when(storage.get(any(BlobId.class))).thenReturn(blob);
         when(blob.exists()).thenReturn(true);
+        when(blob.getGeneration()).thenReturn(7L);
+        when(blob.getSize()).thenReturn(1024L);
 
-        userResponse.setProfilePicturePath(profilePicturePath);
+        user.setProfilePicturePath(profilePicturePath);
         MediaType expectedMediaType = MediaType.valueOf(expectedMediaTypeString);
 
         ImageDTO result = userService.getProfilePicture(1L);
@@ -358,12 +567,95 @@ class UserServiceImplTest {
         assertEquals(expectedMediaType, result.mediaType);
     }
 
+    @Test
+    void getProfilePicture_shouldReturnStreamingImageWithEtag_withoutDownloadingContent() throws IOException {
+        Blob blob = mock(Blob.class);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storage.get(BlobId.of("testBucketName", "pictureUserId_1.jpg"))).thenReturn(blob);
+        when(blob.exists()).thenReturn(true);
+        when(blob.getGeneration()).thenReturn(7L);
+        when(blob.getSize()).thenReturn(1024L);
+        when(blob.getMd5()).thenReturn("md5hash==");
+
+        ImageDTO result = userService.getProfilePicture(1L);
+
+        assertEquals("7-md5hash==", result.etag);
+        assertEquals(1024L, result.image.contentLength());
+        assertEquals("pictureUserId_1.jpg", result.image.getFilename());
+        verify(blob, never()).getContent();
+        verify(storage, never()).reader(any(BlobId.class));
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    void getProfilePicture_shouldServeCachedPicture_withoutCallingStorage() {
+        ByteArrayResource image = new ByteArrayResource(new byte[]{1, 2, 3});
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(profilePictureCache.get("pictureUserId_1.jpg"))
+                .thenReturn(Optional.of(new ProfilePictureCache.CachedPicture(image, "7-md5hash==")));
+
+        ImageDTO result = userService.getProfilePicture(1L);
+
+        assertSame(image, result.image);
+        assertEquals("7-md5hash==", result.etag);
+        assertEquals(MediaType.IMAGE_JPEG, result.mediaType);
+        verifyNoInteractions(storage);
+    }
+
+    @Test
+    void getProfilePicture_shouldServeFromLocalCache_afterLoadingIt() {
+        Blob blob = mock(Blob.class);
+        ByteArrayResource image = new ByteArrayResource(new byte[]{1, 2, 3});
+        BlobId version = BlobId.of("testBucketName", "pictureUserId_1.jpg", 7L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storage.get(BlobId.of("testBucketName", "pictureUserId_1.jpg"))).thenReturn(blob);
+        when(blob.exists()).thenReturn(true);
+        when(blob.getGeneration()).thenReturn(7L);
+        when(blob.getSize()).thenReturn(3L);
+        when(profilePictureCache.load("pictureUserId_1.jpg", version, "7", 3L))
+                .thenReturn(Optional.of(new ProfilePictureCache.CachedPicture(image, "7")));
+
+        ImageDTO result = userService.getProfilePicture(1L);
+
+        assertSame(image, result.image);
+        assertEquals("7", result.etag);
+    }
+
+    @Test
+    void getProfilePicture_shouldServeThumbnail_whenRequested() {
+        ByteArrayResource image = new ByteArrayResource(new byte[]{1});
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(profilePictureCache.get("pictureUserId_1_64.jpg"))
+                .thenReturn(Optional.of(new ProfilePictureCache.CachedPicture(image, "8")));
+
+        ImageDTO result = userService.getProfilePicture(1L, PictureSize.SMALL);
+
+        assertSame(image, result.image);
+        assertEquals(MediaType.IMAGE_JPEG, result.mediaType);
+        verify(profilePictureCache, never()).get("pictureUserId_1.jpg");
+    }
+
+    @Test
+    void getProfilePicture_shouldFallBackToOriginal_whenThumbnailIsMissing() {
+        ByteArrayResource image = new ByteArrayResource(new byte[]{1, 2, 3});
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(storage.get(BlobId.of("testBucketName", "pictureUserId_1_256.jpg"))).thenReturn(null);
+        when(profilePictureCache.get("pictureUserId_1.jpg"))
+                .thenReturn(Optional.of(new ProfilePictureCache.CachedPicture(image, "7")));
+
+        ImageDTO result = userService.getProfilePicture(1L, PictureSize.MEDIUM);
+
+        assertSame(image, result.image);
+        assertEquals("7", result.etag);
+    }
+
     @Test
     void getProfilePicture_shouldThrowException_whenUserDoesntHaveAPfp() {
-        userResponse.setProfilePicturePath("");
+        user.setProfilePicturePath("");
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(userMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
 
         UserNotFoundException ex = assertThrows(UserNotFoundException.class, () -> userService.getProfilePicture(1L));
 
@@ -376,7 +668,6 @@ class UserServiceImplTest {
         Blob blob = mock(Blob.class);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(userMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
 
         when(storage.get(any(BlobId.class))).thenReturn(blob);
         when(blob.exists()).thenReturn(false);
@@ -393,7 +684,6 @@ class UserServiceImplTest {
     @Test
     void getProfilePicture_shouldThrowException_whenPictureIsNull() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(userMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
         when(storage.get(any(BlobId.class))).thenReturn(null);
 
         UserNotFoundException ex = assertThrows(UserNotFoundException.class, () -> userService.getProfilePicture(1L));
@@ -408,7 +698,6 @@ class UserServiceImplTest {
     @Test
     void getProfilePicture_shouldThrowException_whenGCSisUnreachable() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(userMapper.toUserResponse(any(User.class))).thenReturn(userResponse);
         when(storage.get(any(BlobId.class))).thenThrow(new StorageException(503, "Unreachable"));
 
         ServiceUnavailableException ex = assertThrows(
@@ -432,53 +721,107 @@ class UserServiceImplTest {
 
     @Test
     void throwExceptionWhenUserNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> userService.addAvailabilityToTheUser(availabilityDTO));
     }
 
     @Test
     void throwExceptionWhenStartTimeAfterEndTime() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(user));
         availabilityDTO.setStartTime(LocalDateTime.of(2025, 3, 25, 14, 0));
         availabilityDTO.setEndTime(LocalDateTime.of(2025, 3, 25, 12, 0));
 
         assertThrows(InvalidTimeFormatException.class, () -> userService.addAvailabilityToTheUser(availabilityDTO));
+        verify(availabilityRepository, never()).existsOverlapping(any(), any(), any());
     }
 
     @Test
     void throwExceptionWhenUserIsBusy() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        Availability existingAvailability = new Availability();
-        existingAvailability.setStartTime(LocalDateTime.of(2025, 3, 25, 7, 0));
-        existingAvailability.setEndTime(LocalDateTime.of(2025, 3, 25, 13, 0));
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(availabilityRepository.findAllByUserId(1L)).thenReturn(List.of(existingAvailability));
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(user));
+        when(availabilityRepository.existsOverlapping(user.getId(),
+                availabilityDTO.getStartTime(), availabilityDTO.getEndTime())).thenReturn(true);
 
         assertThrows(UserUnavailableException.class, () -> userService.addAvailabilityToTheUser(availabilityDTO));
+        verify(availabilityRepository, never()).save(any());
     }
 
     @Test
     void shouldSaveAvailabilitySuccessfully() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(availabilityRepository.findAllByUserId(1L)).thenReturn(List.of());
+        when(userRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(user));
+        when(availabilityRepository.existsOverlapping(user.getId(),
+                availabilityDTO.getStartTime(), availabilityDTO.getEndTime())).thenReturn(false);
         Availability availability = new Availability();
         when(availabilityMapper.toEntity(availabilityDTO)).thenReturn(availability);
 
         assertDoesNotThrow(() -> userService.addAvailabilityToTheUser(availabilityDTO));
         verify(availabilityRepository, times(1)).save(availability);
+        assertEquals(user, availability.getUser());
+        verify(availabilityRepository, never()).findAllByUserId(anyLong());
+    }
+
+    @Test
+    void getFreeSlots_shouldCalculateFromSingleQuery() {
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime endTime = LocalDateTime.of(2030, 1, 2, 0, 0);
+        FreeSlotRequest request = new FreeSlotRequest(Set.of(1L, 2L), startTime, endTime);
+        when(userRepository.findWorkingHoursAndBusySlots(request.getWorkerIds(), startTime, endTime))
+                .thenReturn(List.of());
+
+        FreeSlotsResponse result = userService.getFreeSlots(request);
+
+        assertTrue(result.getWorkers().isEmpty());
+        assertEquals(List.of(1L, 2L), result.getMissingIds());
+        verify(userRepository).findWorkingHoursAndBusySlots(request.getWorkerIds(), startTime, endTime);
+        verifyNoInteractions(availabilityRepository);
+    }
+
+    @Test
+    void getFreeSlots_shouldReturnMissingWorkerIds() {
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime endTime = LocalDateTime.of(2030, 1, 2, 0, 0);
+        FreeSlotRequest request = new FreeSlotRequest(Set.of(3L, 1L, 2L), startTime, endTime);
+        WorkerBusySlotView worker = mock(WorkerBusySlotView.class);
+        when(worker.getWorkerId()).thenReturn(2L);
+        when(userRepository.findWorkingHoursAndBusySlots(request.getWorkerIds(), startTime, endTime))
+                .thenReturn(List.of(worker));
+
+        FreeSlotsResponse result = userService.getFreeSlots(request);
+
+        assertEquals(List.of(2L), result.getWorkers().stream().map(WorkerFreeSlotsResponse::getWorkerId).toList());
+        assertEquals(List.of(1L, 3L), result.getMissingIds());
+    }
+
+    @Test
+    void getFreeSlots_shouldThrowWhenStartTimeNotBeforeEndTime() {
+        LocalDateTime time = LocalDateTime.of(2030, 1, 1, 0, 0);
+        FreeSlotRequest request = new FreeSlotRequest(Set.of(1L), time, time);
+
+        assertThrows(InvalidTimeFormatException.class, () -> userService.getFreeSlots(request));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getFreeSlots_shouldThrowWhenWindowTooLong() {
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 0, 0);
+        FreeSlotRequest request = new FreeSlotRequest(Set.of(1L), startTime,
+                startTime.plus(FreeSlotRequest.MAX_WINDOW).plusMinutes(1));
+
+        assertThrows(IllegalArgumentException.class, () -> userService.getFreeSlots(request));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     void undoUserCreation_shouldReturnTrue_whenUserExists() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         doNothing().when(userRepository).delete(user);
-        when(storage.delete(any(BlobId.class))).thenReturn(true);
 
         boolean result = userService.undoUserCreation(1L);
 
         assertTrue(result);
+        verify(blobCleanupService).scheduleDeletion("pictureUserId_1.jpg");
+        verify(userEventService).record(UserEventType.USER_DELETED, 1L, null);
+        verifyNoInteractions(storage);
 
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).delete(user);
@@ -497,6 +840,37 @@ class UserServiceImplTest {
         assertEquals("User not found.", exception.getMessage());
     }
 
+    @Test
+    void deleteUsers_shouldDeleteExistingUsersWithOneStatement() {
+        UserPictureView withPicture = mock(UserPictureView.class);
+        UserPictureView withoutPicture = mock(UserPictureView.class);
+        when(withPicture.getId()).thenReturn(1L);
+        when(withPicture.getProfilePicturePath()).thenReturn("pictureUserId_1.jpg");
+        when(withoutPicture.getId()).thenReturn(2L);
+        when(userRepository.findPicturesByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(withPicture, withoutPicture));
+        when(userRepository.deleteAllByIdIn(Set.of(1L, 2L))).thenReturn(2);
+
+        Set<Long> result = userService.deleteUsers(List.of(1L, 2L, 3L));
+
+        assertEquals(Set.of(1L, 2L), result);
+        verify(blobCleanupService).scheduleDeletion("pictureUserId_1.jpg");
+        verify(blobCleanupService).scheduleDeletion(null);
+        verify(userEventService).record(UserEventType.USER_DELETED, 1L, null);
+        verify(userEventService).record(UserEventType.USER_DELETED, 2L, null);
+        verify(userRepository, never()).delete(any());
+    }
+
+    @Test
+    void deleteUsers_shouldNotDelete_whenNoUserExists() {
+        when(userRepository.findPicturesByIdIn(List.of(3L))).thenReturn(List.of());
+
+        assertTrue(userService.deleteUsers(List.of(3L)).isEmpty());
+        assertTrue(userService.deleteUsers(List.of()).isEmpty());
+
+        verify(userRepository, times(1)).findPicturesByIdIn(any());
+        verify(userRepository, never()).deleteAllByIdIn(any());
+    }
+
     @Test
     void getUserEntity_shouldReturnUserEntity() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
@@ -507,6 +881,24 @@ class UserServiceImplTest {
         verifyNoMoreInteractions(userRepository);
     }
 
+    @Test
+    void verifyUserExists_shouldNotLoadUser_whenUserExists() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertDoesNotThrow(() -> userService.verifyUserExists(1L));
+
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void verifyUserExists_shouldThrowUserNotFoundException_whenUserDoesNotExist() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        UserNotFoundException ex = assertThrows(UserNotFoundException.class, () -> userService.verifyUserExists(1L));
+
+        assertEquals("User not found.", ex.getMessage());
+    }
+
     @Test
     void getUserEntity_shouldThrowUserNotFoundException() {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
@@ -558,6 +950,7 @@ class UserServiceImplTest {
 
         verify(userRepository, times(1)).findById(1L);
         verify(userMapper, times(1)).toUserResponse(user);
+        verify(userEventService).record(UserEventType.USER_UPDATED, 1L, userResponse);
     }
 
     @Test
@@ -644,5 +1037,6 @@ class UserServiceImplTest {
         assertEquals(workingHoursRequest.getEndTime(), user.getEndTime());
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).save(user);
+        verify(userEventService).record(eq(UserEventType.WORKING_HOURS_CHANGED), eq(1L), any());
     }
 }
\ No newline at end of file